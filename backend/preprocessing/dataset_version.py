@@ -0,0 +1,44 @@
+"""Dataset version registry shared by the loaders and the backend.
+
+Each collection has its own version document, plus one global version that
+the backend uses for ETags. The backend watches the registry and evicts only
+the caches built from the collections (and states) a loader touched, so every
+loader calls bump_dataset_version after it writes data.
+"""
+
+from datetime import datetime, timezone
+from typing import Iterable, Optional
+
+from pymongo import ReturnDocument
+
+DATASET_VERSION_COLLECTION = "dataset_version"
+GLOBAL_VERSION_ID = "global"
+
+
+def bump_dataset_version(db, collections: Iterable[str], states: Optional[Iterable[str]] = None) -> int:
+    """Record a change to ``collections`` and return the new global version.
+
+    ``states`` lists the state FIPS codes the load touched; leave it out when
+    the load replaced data for every state. Each bump replaces the stored
+    states, so a backend that sees a version skip over a bump treats it as a
+    change to every state.
+    """
+    registry = db[DATASET_VERSION_COLLECTION]
+    now = datetime.now(timezone.utc)
+    touched = sorted(set(states)) if states is not None else None
+
+    # Collections first: the backend evicts on these before the ETag moves
+    for collection in collections:
+        registry.update_one(
+            {"_id": collection},
+            {"$inc": {"version": 1}, "$set": {"states": touched, "updatedAt": now}},
+            upsert=True,
+        )
+
+    doc = registry.find_one_and_update(
+        {"_id": GLOBAL_VERSION_ID},
+        {"$inc": {"version": 1}, "$set": {"updatedAt": now}},
+        upsert=True,
+        return_document=ReturnDocument.AFTER,
+    )
+    return doc["version"]
@@ -5,6 +5,7 @@ from pyei.r_by_c import RowByColumnEI
 from scipy.stats import gaussian_kde
 import os
 import sys
+from dataset_version import bump_dataset_version
 
 def run_ei_rejected_ballots():
     print("Starting EI Rejected Ballots Analysis (Mail Ballots)...")
@@ -185,6 +186,7 @@ def run_ei_rejected_ballots():
         {"$set": doc},
         upsert=True
     )
+    bump_dataset_version(db, ["ei_data"], states=["12"])
     
     client.close()
     print("Rejected Ballots Data inserted into MongoDB successfully.")
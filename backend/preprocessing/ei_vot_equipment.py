@@ -5,6 +5,7 @@ from pyei.r_by_c import RowByColumnEI
 from scipy.stats import gaussian_kde
 import os
 import sys
+from dataset_version import bump_dataset_version
 
 # Equipment type quality scores based on security research
 # Higher = better quality/security
@@ -214,6 +215,7 @@ def run_ei_equipment():
         {"$set": doc},
         upsert=True
     )
+    bump_dataset_version(db, ["ei_data"], states=["12"])
     
     client.close()
     print("Equipment Quality Data inserted into MongoDB successfully.")
@@ -3,6 +3,7 @@ import logging
 from pathlib import Path
 from typing import Dict, Optional
 from pymongo import MongoClient
+from dataset_version import bump_dataset_version
 
 MONGO_URI = "mongodb://localhost:27017/"
 DATABASE_NAME = "cse416"
@@ -190,6 +191,7 @@ def load_cvap_data():
     fl_count = col.count_documents({"stateName": "Florida"})
     logger.info(f"California counties: {ca_count}, Florida counties: {fl_count}")
 
+    bump_dataset_version(db, [COLLECTION_NAME])
     client.close()
     logger.info("Load complete.")
 
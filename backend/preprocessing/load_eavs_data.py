@@ -2,6 +2,7 @@ import pandas as pd
 from pymongo import MongoClient
 import os
 from pathlib import Path
+from dataset_version import bump_dataset_version
 
 MONGO_URI = os.getenv("MONGO_URI", "mongodb://localhost:27017")
 DATABASE_NAME = "cse416"
@@ -27,6 +28,27 @@ CSV_FILES = {
 }
 
 
+def is_uocava(jurisdiction_name):
+    """Whether a jurisdiction row is the statewide UOCAVA (overseas/military) entry."""
+    return str(jurisdiction_name or "").startswith("UOCAVA")
+
+
+def ensure_indexes(collection):
+    """Create the indexes behind the backend's state/year lookups."""
+    collection.create_index([("stateAbbr", 1), ("electionYear", 1), ("isUocava", 1)])
+    collection.create_index([("electionYear", 1), ("isUocava", 1)])
+
+
+def backfill_uocava_flag(collection):
+    """Set isUocava on documents loaded before the flag existed. Returns how many changed."""
+    missing = {"isUocava": {"$exists": False}}
+    flagged = collection.update_many({**missing, "jurisdictionName": {"$regex": "^UOCAVA"}}, {"$set": {"isUocava": True}})
+    cleared = collection.update_many(missing, {"$set": {"isUocava": False}})
+    modified = flagged.modified_count + cleared.modified_count
+    print(f"Backfilled isUocava on {modified} existing documents")
+    return modified
+
+
 def clean_numeric_value(val):
     """
     Clean numeric values: treat negative codes (-88, -99, etc.) as 0,
@@ -154,6 +176,7 @@ def load_eavs_2024(collection, csv_path):
         document = {
             "fipsCode": row["FIPSCode"],
             "jurisdictionName": row["Jurisdiction_Name"],
+            "isUocava": is_uocava(row["Jurisdiction_Name"]),
             "stateFull": row["State_Full"],
             "stateAbbr": row["State_Abbr"],
             "electionYear": 2024,
@@ -283,6 +306,7 @@ def load_eavs_2022_2020_2018(collection, csv_path, year):
         document = {
             "fipsCode": row["FIPSCode"],
             "jurisdictionName": row["Jurisdiction_Name"],
+            "isUocava": is_uocava(row["Jurisdiction_Name"]),
             "stateFull": row["State_Full"],
             "stateAbbr": row["State_Abbr"],
             "electionYear": year,
@@ -364,6 +388,7 @@ def load_eavs_2016(collection, csv_path):
         document = {
             "fipsCode": row["FIPSCode"],
             "jurisdictionName": row["JurisdictionName"],
+            "isUocava": is_uocava(row["JurisdictionName"]),
             "stateFull": None,  # Not available in 2016 data
             "stateAbbr": row["State"],
             "electionYear": 2016,
@@ -414,6 +439,11 @@ def load_eavs_data():
     # Check if data already exists
     if collection.count_documents({}) > 0:
         print("EAVS data already exists in MongoDB. Skipping load.")
+        modified = backfill_uocava_flag(collection)
+        ensure_indexes(collection)
+        # Only a backfill changes what the backend reads; an unchanged version keeps its caches warm
+        if modified > 0:
+            bump_dataset_version(db, [COLLECTION_NAME])
         client.close()
         return
 
@@ -437,7 +467,10 @@ def load_eavs_data():
             import traceback
             traceback.print_exc()
 
+    ensure_indexes(collection)
+
     print(f"\nTotal documents in collection: {collection.count_documents({})}")
+    bump_dataset_version(db, [COLLECTION_NAME])
     client.close()
 
 
@@ -13,6 +13,7 @@ import os
 from pathlib import Path
 from datetime import datetime
 import re
+from dataset_version import bump_dataset_version
 
 MONGO_URI = os.getenv("MONGO_URI", "mongodb://localhost:27017")
 DATABASE_NAME = "cse416"
@@ -390,6 +391,7 @@ def load_equipment_data():
     for doc in florida_docs[:5]:
         print(f"  - {doc['manufacturer']} {doc['modelName']} (Quality: {doc['qualityScore']})")
     
+    bump_dataset_version(db, [COLLECTION_NAME])
     client.close()
     print("\nLoad complete.")
 
@@ -4,6 +4,7 @@ from pathlib import Path
 from typing import Dict, List
 
 from pymongo import MongoClient
+from dataset_version import bump_dataset_version
 
 MONGO_URI = "mongodb://localhost:27017/"
 DATABASE_NAME = "cse416"
@@ -72,6 +73,7 @@ def load_felony_data():
     if sample:
         logger.info(f"Sample document: {sample}")
 
+    bump_dataset_version(db, [COLLECTION_NAME])
     client.close()
     logger.info("Load complete.")
 
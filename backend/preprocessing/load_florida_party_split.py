@@ -2,6 +2,7 @@ import logging
 from pathlib import Path
 from typing import Dict, List
 from pymongo import MongoClient
+from dataset_version import bump_dataset_version
 
 MONGO_URI = "mongodb://localhost:27017/"
 DATABASE_NAME = "cse416"
@@ -239,6 +240,7 @@ class FloridaVoteSplitLoader:
             logger.info(f"Inserted {len(result.inserted_ids)} county vote split records")
 
             collection.create_index([("stateFips", 1), ("countyName", 1)], unique=True)
+            bump_dataset_version(db, [COLLECTION_NAME], states=[FLORIDA_FIPS])
 
             client.close()
 
@@ -18,6 +18,7 @@ from pymongo import MongoClient
 import geopandas as gpd
 import maup
 import warnings
+from dataset_version import bump_dataset_version
 
 # Suppress pandas/geopandas warnings
 warnings.filterwarnings('ignore')
@@ -362,6 +363,7 @@ def main():
     
     collection.delete_many({'stateFips': '12'})
     collection.insert_one(doc)
+    bump_dataset_version(db, ['gingles_chart_data'], states=['12'])
     
     logger.info(f"Stored {len(final_precincts)} precincts in MongoDB")
     logger.info(f"Metadata: {doc['metadata']}")
@@ -6,6 +6,7 @@ import geopandas as gpd
 from shapely.geometry import mapping
 from shapely.geometry.base import BaseGeometry
 from pymongo import MongoClient, GEOSPHERE
+from dataset_version import bump_dataset_version
 
 SCRIPT_DIR = Path(__file__).parent
 RESOURCES_DIR = SCRIPT_DIR.parent / "src" / "main" / "resources"
@@ -141,6 +142,7 @@ def load_with_geopandas():
     except Exception:
         logger.exception("Index creation failed")
 
+    bump_dataset_version(db, [COLLECTION_NAME])
     client.close()
     logger.info("Load complete.")
 
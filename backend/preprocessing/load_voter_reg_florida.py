@@ -1,7 +1,8 @@
 import logging
 from pathlib import Path
 from typing import Dict, Optional, List
-from pymongo import MongoClient
+from pymongo import MongoClient, UpdateOne
+from dataset_version import bump_dataset_version
 
 MONGO_URI = "mongodb://localhost:27017/"
 DATABASE_NAME = "cse416"
@@ -10,6 +11,9 @@ STATE_REGISTRATION_COLLECTION = "state_voter_registration"
 
 FLORIDA_FIPS = "12"
 
+# Serves paged and keyset listings as covered scans; _id breaks ties between equal names
+LISTING_INDEX = [("countyName", 1), ("validName", 1), ("party", 1), ("sortName", 1), ("_id", 1)]
+
 SCRIPT_DIR = Path(__file__).parent
 RESOURCES_DIR = SCRIPT_DIR.parent / "src" / "main" / "resources"
 VOTER_DIR = RESOURCES_DIR / "Florida Department of State Statewide Voter Registration and Voting History Extract File" / "20251014_VoterDetail"
@@ -34,6 +38,17 @@ COUNTY_CODES = {
     "WAK": "Wakulla", "WAL": "Walton", "WAS": "Washington"
 }
 
+
+def normalize_name(name: str) -> str:
+    """Upper-case name the API sorts, searches and displays"""
+    return name.upper()
+
+
+def is_valid_name(name: str) -> bool:
+    """Whether the voter is listed by the API: the name starts with an ASCII letter"""
+    return bool(name) and name[0].isascii() and name[0].isalpha()
+
+
 logging.basicConfig(level=logging.INFO, format='%(asctime)s - %(name)s - %(levelname)s - %(message)s')
 logger = logging.getLogger(__name__)
 
@@ -66,6 +81,8 @@ class FloridaVoterLoader:
             # Create final voter record with null email if not present
             voter_record = {
                 'name': voter_data['name'],
+                'sortName': normalize_name(voter_data['name']),
+                'validName': is_valid_name(voter_data['name']),
                 'countyName': voter_data['countyName'],
                 'party': voter_data['party'],
                 'address': voter_data['address'],
@@ -321,6 +338,35 @@ class FloridaVoterLoader:
 
         return False
 
+    def _normalize_existing_names(self, db) -> int:
+        """Add sortName and validName to voters loaded before those fields existed,
+        and make sure the listing index the API pages and searches by is there.
+        Returns the number of voters updated."""
+        col = db[COLLECTION_NAME]
+        # Creating an existing index is a no-op, and loads from before the index need it
+        col.create_index(LISTING_INDEX)
+        modified = 0
+        updates = []
+        # Normalized here rather than with $toUpper, which only handles ASCII, so
+        # backfilled names match the ones new loads store
+        for voter in col.find({'sortName': {'$exists': False}}, {'name': 1}, batch_size=self.batch_size):
+            name = voter.get('name') or ''
+            updates.append(UpdateOne(
+                {'_id': voter['_id']},
+                {'$set': {'sortName': normalize_name(name), 'validName': is_valid_name(name)}}
+            ))
+            if len(updates) >= self.batch_size:
+                modified += col.bulk_write(updates, ordered=False).modified_count
+                updates = []
+        if updates:
+            modified += col.bulk_write(updates, ordered=False).modified_count
+        if modified == 0:
+            return 0
+
+        logger.info(f"Normalized names of {modified:,} existing voters")
+        bump_dataset_version(db, [COLLECTION_NAME], states=[FLORIDA_FIPS])
+        return modified
+
     def load_all_voters(self, force_reload: bool = False):
         """Load all Florida voter data into MongoDB with optimized async processing"""
         logger.info("=" * 70)
@@ -341,7 +387,10 @@ class FloridaVoterLoader:
 
         # Check if data already exists
         if not force_reload and self._check_existing_data(db):
-            logger.error("Aborting: Data already exists.")
+            if self._normalize_existing_names(db) == 0:
+                logger.info("Skipping load: data already exists.")
+            else:
+                logger.info("Skipping load: existing data was brought up to date instead.")
             client.close()
             return
 
@@ -401,11 +450,13 @@ class FloridaVoterLoader:
             col.create_index("countyName")
             col.create_index("party")
             col.create_index("email")
+            col.create_index(LISTING_INDEX)
         except Exception as e:
             logger.error(f"Error creating indexes: {e}")
 
         # Save registration statistics
         self._save_registration_statistics(db)
+        bump_dataset_version(db, [COLLECTION_NAME, STATE_REGISTRATION_COLLECTION], states=[FLORIDA_FIPS])
 
         client.close()
         self._print_stats()
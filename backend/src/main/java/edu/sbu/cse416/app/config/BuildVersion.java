@@ -0,0 +1,32 @@
+package edu.sbu.cse416.app.config;
+
+import java.time.Instant;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.info.BuildProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * Identifier of the running build, for validators and stored entries that must
+ * not outlive a change to the code that produced them. Taken from the
+ * {@code build-info.properties} written by the Gradle build; a run without one
+ * uses its start time, so nothing it produces is mistaken for another build's.
+ */
+@Component
+public class BuildVersion {
+
+    private final String id;
+
+    public BuildVersion(ObjectProvider<BuildProperties> buildProperties) {
+        BuildProperties build = buildProperties.getIfAvailable();
+        Instant time = build == null || build.getTime() == null ? Instant.now() : build.getTime();
+        String version = build == null || build.getVersion() == null ? "dev" : build.getVersion();
+        this.id = version + "+" + time.toEpochMilli();
+    }
+
+    /**
+     * Version and build time, e.g. {@code 0.0.1-SNAPSHOT+1718000000000}.
+     */
+    public String id() {
+        return id;
+    }
+}
@@ -0,0 +1,90 @@
+package edu.sbu.cse416.app.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.CaffeineSpec;
+import edu.sbu.cse416.app.service.DatasetVersionService;
+import edu.sbu.cse416.app.service.SerializedResponseCache;
+import edu.sbu.cse416.app.util.DiskCacheStore;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.SimpleCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.StringUtils;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Caffeine caches configured from {@code spring.cache}, backed by the on-disk
+ * tier of {@link TieredCacheManager} unless {@code app.cache.disk.enabled} is
+ * false. Every cache is a {@link RefreshAheadCache}, so concurrent misses on a
+ * key share one load and a {@code refreshAfterWrite} spec reloads entries off
+ * the request path.
+ *
+ * <p>{@link SerializedResponseCache} holds whole response bodies, so it takes
+ * its own spec from {@code app.cache.serialized-responses.spec}, bounded by
+ * {@code maximumWeight} in bytes rather than by entry count.
+ */
+@Configuration
+@EnableCaching
+@EnableConfigurationProperties(CacheProperties.class)
+public class CacheConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public ExecutorService cacheRefreshExecutor(@Value("${app.cache.refresh-threads:2}") int threads) {
+        return Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "cache-refresh");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Bean
+    public CacheManager cacheManager(
+            CacheProperties cacheProperties,
+            ObjectMapper objectMapper,
+            DatasetVersionService datasetVersionService,
+            BuildVersion buildVersion,
+            ExecutorService cacheRefreshExecutor,
+            @Value("${app.cache.serialized-responses.spec:maximumWeight=268435456}") String serializedResponsesSpec,
+            @Value("${app.cache.disk.enabled:true}") boolean diskEnabled,
+            @Value("${app.cache.disk.dir:${java.io.tmpdir}/cse416-cache}") Path diskDir,
+            @Value("${app.cache.disk.max-size:512MB}") DataSize diskMaxSize)
+            throws IOException {
+        String spec = cacheProperties.getCaffeine().getSpec();
+        List<Cache> caches = new ArrayList<>();
+        for (String name : cacheProperties.getCacheNames()) {
+            Caffeine<Object, Object> builder;
+            if (SerializedResponseCache.CACHE_NAME.equals(name)) {
+                builder = Caffeine.from(CaffeineSpec.parse(serializedResponsesSpec)).weigher(CacheConfig::weigh);
+            } else {
+                builder = StringUtils.hasText(spec) ? Caffeine.from(CaffeineSpec.parse(spec)) : Caffeine.newBuilder();
+            }
+            caches.add(RefreshAheadCache.create(name, builder, cacheRefreshExecutor));
+        }
+        SimpleCacheManager heap = new SimpleCacheManager();
+        heap.setCaches(caches);
+        heap.afterPropertiesSet();
+        if (!diskEnabled) {
+            return heap;
+        }
+
+        DiskCacheStore store = new DiskCacheStore(
+                diskDir, diskMaxSize.toBytes(), buildVersion.id(), datasetVersionService.current());
+        return new TieredCacheManager(heap, store, objectMapper, datasetVersionService);
+    }
+
+    private static int weigh(Object key, Object value) {
+        return value instanceof SerializedResponseCache.Entry entry ? entry.weight() : 1;
+    }
+}
@@ -0,0 +1,30 @@
+package edu.sbu.cse416.app.config;
+
+import edu.sbu.cse416.app.service.CacheWarmupService;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports {@code OUT_OF_SERVICE} until the startup cache warm-up has finished.
+ * Included in the readiness group, so traffic is only routed to a warm instance.
+ */
+@Component
+public class CacheWarmupHealthIndicator implements HealthIndicator {
+
+    private final CacheWarmupService cacheWarmupService;
+
+    public CacheWarmupHealthIndicator(CacheWarmupService cacheWarmupService) {
+        this.cacheWarmupService = cacheWarmupService;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder builder = cacheWarmupService.isDone() ? Health.up() : Health.outOfService();
+        return builder
+                .withDetail("total", cacheWarmupService.total())
+                .withDetail("completed", cacheWarmupService.completed())
+                .withDetail("failed", cacheWarmupService.failed())
+                .build();
+    }
+}
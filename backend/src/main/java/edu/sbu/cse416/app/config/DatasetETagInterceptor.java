@@ -0,0 +1,42 @@
+package edu.sbu.cse416.app.config;
+
+import edu.sbu.cse416.app.service.DatasetVersionService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Tags GET responses with a strong ETag of the build and the dataset version.
+ * Every response is a pure function of the request, the code and the loaded
+ * data, so a matching {@code If-None-Match} is answered with 304 before the
+ * handler, and the services behind it, run at all. The build is part of the
+ * tag because a deploy can change a response's shape without any new data.
+ */
+@Component
+public class DatasetETagInterceptor implements HandlerInterceptor {
+
+    private final DatasetVersionService datasetVersionService;
+    private final BuildVersion buildVersion;
+
+    public DatasetETagInterceptor(DatasetVersionService datasetVersionService, BuildVersion buildVersion) {
+        this.datasetVersionService = datasetVersionService;
+        this.buildVersion = buildVersion;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod method)
+                || method.hasMethodAnnotation(SkipDatasetETag.class)
+                || !("GET".equals(request.getMethod()) || "HEAD".equals(request.getMethod()))) {
+            return true;
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        String etag = "\"" + buildVersion.id() + "-" + datasetVersionService.current() + "\"";
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
@@ -0,0 +1,30 @@
+package edu.sbu.cse416.app.config;
+
+import edu.sbu.cse416.app.model.geojson.PackedCoordinates;
+import java.util.List;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.convert.ReadingConverter;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+@Configuration
+public class MongoConfig {
+
+    @Bean
+    public MongoCustomConversions mongoCustomConversions() {
+        return new MongoCustomConversions(List.of(new PackedCoordinatesReader()));
+    }
+
+    /**
+     * Packs GeoJSON coordinate arrays as they are read, so the nested
+     * {@code List<List<Double>>} trees are never kept past mapping.
+     */
+    @ReadingConverter
+    static class PackedCoordinatesReader implements Converter<List<?>, PackedCoordinates> {
+        @Override
+        public PackedCoordinates convert(List<?> source) {
+            return PackedCoordinates.fromGeoJson(source);
+        }
+    }
+}
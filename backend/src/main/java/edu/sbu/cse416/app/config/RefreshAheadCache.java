@@ -0,0 +1,123 @@
+package edu.sbu.cse416.app.config;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.RemovalListener;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.function.Predicate;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+/**
+ * Caffeine cache that loads each key once however many callers miss on it at
+ * the same time, and reloads entries in the background once they pass the
+ * spec's {@code refreshAfterWrite} age. Callers keep getting the current value
+ * while the reload runs.
+ *
+ * <p>{@code @Cacheable} methods only hand the cache a loader on a miss, so the
+ * loader of every cached key is kept and reused for its refreshes. Loaders are
+ * registered inside the miss, so hits do no extra work, and are dropped when
+ * their entry is evicted, whether explicitly or by the size bound.
+ */
+public class RefreshAheadCache extends CaffeineCache {
+
+    private final Loader loader;
+
+    private RefreshAheadCache(String name, LoadingCache<Object, Object> cache, Loader loader) {
+        super(name, cache, true);
+        this.loader = loader;
+    }
+
+    /**
+     * Build a cache from a spec-configured builder. Refreshes run on {@code executor}.
+     */
+    public static RefreshAheadCache create(String name, Caffeine<Object, Object> builder, Executor executor) {
+        Loader loader = new Loader();
+        return new RefreshAheadCache(name, builder.executor(executor).evictionListener(loader).build(loader), loader);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        return get(key, valueLoader, valueLoader);
+    }
+
+    /**
+     * Get a value, loading it with {@code valueLoader} on a miss and with
+     * {@code reloader} on later refreshes.
+     */
+    public <T> T get(Object key, Callable<T> valueLoader, Callable<T> reloader) {
+        // Runs only on a miss, inside Caffeine's per-key computation
+        return super.get(key, () -> {
+            loader.loaders.put(key, () -> toStoreValue(reloader.call()));
+            try {
+                return valueLoader.call();
+            } catch (Exception | Error e) {
+                loader.loaders.remove(key);
+                throw e;
+            }
+        });
+    }
+
+    // Loaders are dropped before their entries, so a loader registered by a
+    // concurrent miss is never lost, at worst kept for an entry that is gone
+
+    @Override
+    public void evict(Object key) {
+        loader.loaders.remove(key);
+        super.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        loader.loaders.remove(key);
+        return super.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        loader.loaders.clear();
+        super.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        loader.loaders.clear();
+        return super.invalidate();
+    }
+
+    /**
+     * Evict every entry whose key matches as a string.
+     */
+    public void evictIf(Predicate<String> key) {
+        loader.loaders.keySet().removeIf(k -> key.test(String.valueOf(k)));
+        getNativeCache().asMap().keySet().removeIf(k -> key.test(String.valueOf(k)));
+    }
+
+    private static final class Loader implements CacheLoader<Object, Object>, RemovalListener<Object, Object> {
+
+        private final Map<Object, Callable<Object>> loaders = new ConcurrentHashMap<>();
+
+        @Override
+        public Object load(Object key) throws Exception {
+            Callable<Object> callable = loaders.get(key);
+            // Plain lookups of uncached keys stay misses
+            return callable == null ? null : callable.call();
+        }
+
+        @Override
+        public Object reload(Object key, Object oldValue) throws Exception {
+            Callable<Object> callable = loaders.get(key);
+            return callable == null ? oldValue : callable.call();
+        }
+
+        @Override
+        public void onRemoval(Object key, Object value, RemovalCause cause) {
+            // Runs inside the eviction, so a loader registered afterwards is not lost
+            loaders.remove(key);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package edu.sbu.cse416.app.config;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a handler that sets its own validators, such as a content-hash ETag, so
+ * {@link DatasetETagInterceptor} leaves it alone.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface SkipDatasetETag {}
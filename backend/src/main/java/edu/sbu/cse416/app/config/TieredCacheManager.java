@@ -0,0 +1,303 @@
+package edu.sbu.cse416.app.config;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import edu.sbu.cse416.app.service.DatasetVersionService;
+import edu.sbu.cse416.app.util.DiskCacheStore;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.support.SimpleValueWrapper;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationContextAware;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * Two-level {@link CacheManager}: the in-heap caches of a delegate manager in
+ * front of a {@link DiskCacheStore}, so a restarted node serves what it had
+ * computed before instead of going back to Mongo.
+ *
+ * <p>Entries are written to disk in the background as JSON envelopes holding
+ * the cache name, key, build and dataset version. Disk entries are keyed by the
+ * build and the global dataset version, so a redeploy or anything loaded while
+ * the node was down makes them unreachable rather than stale.
+ *
+ * <p>Values are read back as the declared return type of the {@code @Cacheable}
+ * methods filling their cache, found once every bean is created. Caches with
+ * no such method, or with methods declaring different types, stay in the heap.
+ */
+public class TieredCacheManager implements CacheManager, ApplicationContextAware, SmartInitializingSingleton {
+
+    private static final Logger log = LoggerFactory.getLogger(TieredCacheManager.class);
+
+    private final CacheManager delegate;
+    private final DiskCacheStore store;
+    private final ObjectMapper objectMapper;
+    private final DatasetVersionService datasetVersionService;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "disk-cache-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, TieredCache> caches = new ConcurrentHashMap<>();
+    // cacheName -> value type, empty where methods disagree on it
+    private final Map<String, Optional<JavaType>> valueTypes = new ConcurrentHashMap<>();
+    private ApplicationContext applicationContext;
+
+    public TieredCacheManager(
+            CacheManager delegate,
+            DiskCacheStore store,
+            ObjectMapper objectMapper,
+            DatasetVersionService datasetVersionService) {
+        this.delegate = delegate;
+        this.store = store;
+        this.objectMapper = objectMapper;
+        this.datasetVersionService = datasetVersionService;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache heap = delegate.getCache(name);
+        return heap == null ? null : caches.computeIfAbsent(name, n -> new TieredCache(heap));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    public void shutdown() {
+        writer.shutdown();
+    }
+
+    @Override
+    public void setApplicationContext(ApplicationContext applicationContext) {
+        this.applicationContext = applicationContext;
+    }
+
+    /**
+     * Record the value type of every cache from the {@code @Cacheable} methods
+     * of the application's beans.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String name : applicationContext.getBeanDefinitionNames()) {
+            Class<?> type = applicationContext.getType(name, false);
+            if (type == null) continue;
+            ReflectionUtils.doWithMethods(ClassUtils.getUserClass(type), method -> {
+                Cacheable cacheable = AnnotatedElementUtils.findMergedAnnotation(method, Cacheable.class);
+                if (cacheable == null || method.isBridge()) return;
+                JavaType valueType = objectMapper.getTypeFactory().constructType(method.getGenericReturnType());
+                for (String cacheName : cacheable.cacheNames()) {
+                    valueTypes.merge(cacheName, Optional.of(valueType), (a, b) -> a.equals(b) ? a : Optional.empty());
+                }
+            });
+        }
+        valueTypes.forEach((cacheName, valueType) -> {
+            if (valueType.isEmpty()) {
+                log.info("Cache {} holds values of several types, keeping it off disk", cacheName);
+            }
+        });
+    }
+
+    /**
+     * One cache of the manager. Misses in the heap tier fall through to disk,
+     * and disk hits are promoted back into the heap.
+     */
+    public final class TieredCache implements Cache {
+
+        private final Cache heap;
+
+        private TieredCache(Cache heap) {
+            this.heap = heap;
+        }
+
+        @Override
+        public String getName() {
+            return heap.getName();
+        }
+
+        @Override
+        public Object getNativeCache() {
+            return heap.getNativeCache();
+        }
+
+        @Override
+        public ValueWrapper get(Object key) {
+            ValueWrapper value = heap.get(key);
+            if (value != null) {
+                return value;
+            }
+            value = readFromDisk(key);
+            if (value != null) {
+                heap.put(key, value.get());
+            }
+            return value;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T get(Object key, Class<T> type) {
+            ValueWrapper value = get(key);
+            return value == null ? null : (T) value.get();
+        }
+
+        @Override
+        public <T> T get(Object key, Callable<T> valueLoader) {
+            Callable<T> compute = () -> {
+                // Taken before loading, so a value built from data an ingest is
+                // replacing is stored under the old version, not the new one
+                long version = datasetVersionService.current();
+                T value = valueLoader.call();
+                writeToDisk(key, version, value);
+                return value;
+            };
+            Callable<T> load = () -> {
+                ValueWrapper stored = readFromDisk(key);
+                if (stored != null) {
+                    @SuppressWarnings("unchecked")
+                    T value = (T) stored.get();
+                    return value;
+                }
+                return compute.call();
+            };
+            // Background refreshes recompute rather than re-read what is on disk
+            return heap instanceof RefreshAheadCache refreshing
+                    ? refreshing.get(key, load, compute)
+                    : heap.get(key, load);
+        }
+
+        @Override
+        public void put(Object key, Object value) {
+            heap.put(key, value);
+            writeToDisk(key, datasetVersionService.current(), value);
+        }
+
+        @Override
+        public void evict(Object key) {
+            heap.evict(key);
+            store.remove(id(key));
+        }
+
+        @Override
+        public void clear() {
+            heap.clear();
+            store.removeIf(getName(), key -> true);
+        }
+
+        /**
+         * Evict every entry, in either tier, whose key matches as a string.
+         */
+        public void evictIf(Predicate<String> key) {
+            if (heap instanceof RefreshAheadCache refreshing) {
+                refreshing.evictIf(key);
+            } else if (heap.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> entries) {
+                entries.asMap().keySet().removeIf(k -> key.test(String.valueOf(k)));
+            } else {
+                heap.clear();
+            }
+            store.removeIf(getName(), key);
+        }
+
+        private String id(Object key) {
+            return store.id(getName(), datasetVersionService.current(), String.valueOf(key));
+        }
+
+        /**
+         * Declared type of the cache's values, or null to keep it off disk.
+         */
+        private JavaType valueType() {
+            return valueTypes.getOrDefault(getName(), Optional.empty()).orElse(null);
+        }
+
+        private ValueWrapper readFromDisk(Object key) {
+            JavaType type = valueType();
+            if (type == null) {
+                return null;
+            }
+            ByteBuffer buffer = store.get(id(key));
+            if (buffer == null) {
+                return null;
+            }
+            try (JsonParser parser = objectMapper.getFactory().createParser(new ByteBufferBackedInputStream(buffer))) {
+                String storedKey = null;
+                Object value = null;
+                parser.nextToken();
+                // Written in order: cache, key, build, version, value
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String field = parser.currentName();
+                    parser.nextToken();
+                    switch (field) {
+                        case "key" -> storedKey = parser.getText();
+                        case "value" -> value = objectMapper.readValue(parser, type);
+                        default -> parser.skipChildren();
+                    }
+                }
+                // A hash collision, however unlikely, must not serve another key's value
+                return String.valueOf(key).equals(storedKey) ? new SimpleValueWrapper(value) : null;
+            } catch (IOException | IllegalArgumentException e) {
+                log.debug("Dropping unreadable disk cache entry for {} {}", getName(), key, e);
+                store.remove(id(key));
+                return null;
+            }
+        }
+
+        private void writeToDisk(Object key, long version, Object value) {
+            JavaType type = valueType();
+            if (type == null) {
+                return;
+            }
+            String cacheName = getName();
+            String keyText = String.valueOf(key);
+            writer.execute(() -> {
+                try {
+                    store.put(
+                            store.id(cacheName, version, keyText),
+                            cacheName,
+                            keyText,
+                            envelope(cacheName, keyText, version, type, value));
+                } catch (IOException | RuntimeException e) {
+                    log.debug("Not writing {} {} to disk cache", cacheName, keyText, e);
+                }
+            });
+        }
+
+        private byte[] envelope(String cacheName, String key, long version, JavaType type, Object value)
+                throws IOException {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                // Leading fields are read back by DiskCacheStore to rebuild its index
+                generator.writeStartObject();
+                generator.writeStringField("cache", cacheName);
+                generator.writeStringField("key", key);
+                generator.writeStringField("build", store.build());
+                generator.writeNumberField("version", version);
+                generator.writeFieldName("value");
+                // Written as the declared type, so subclasses serialize the way they are read back
+                objectMapper.writerFor(type).writeValue(generator, value);
+                generator.writeEndObject();
+            }
+            return out.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package edu.sbu.cse416.app.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final DatasetETagInterceptor datasetETagInterceptor;
+
+    public WebConfig(DatasetETagInterceptor datasetETagInterceptor) {
+        this.datasetETagInterceptor = datasetETagInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(datasetETagInterceptor).addPathPatterns("/api/**");
+    }
+}
@@ -1,40 +1,204 @@
 package edu.sbu.cse416.app.controller;
 
-import edu.sbu.cse416.app.dto.geojson.GeoJsonResponse;
-import edu.sbu.cse416.app.model.geojson.CountyGeoJson;
-import edu.sbu.cse416.app.model.geojson.StateGeoJson;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.sbu.cse416.app.config.SkipDatasetETag;
+import edu.sbu.cse416.app.dto.geojson.CountyMetricsResponse;
+import edu.sbu.cse416.app.service.BinaryGeometryService;
 import edu.sbu.cse416.app.service.GeoJsonService;
-import java.util.List;
+import edu.sbu.cse416.app.service.SerializedGeoJsonService;
+import edu.sbu.cse416.app.service.SerializedResponseCache;
+import edu.sbu.cse416.app.util.GeometryDetail;
+import edu.sbu.cse416.app.util.PackedGeometryWriter;
+import edu.sbu.cse416.app.util.ZeroCopyFileSender;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api/geojson")
 public class GeoJsonController {
 
+    private static final String GEOJSON = "geojson";
+    private static final String TOPOJSON = "topojson";
+
     private final GeoJsonService geoJsonService;
+    private final SerializedGeoJsonService serializedGeoJsonService;
+    private final BinaryGeometryService binaryGeometryService;
+    private final ObjectMapper objectMapper;
 
-    public GeoJsonController(GeoJsonService geoJsonService) {
+    public GeoJsonController(
+            GeoJsonService geoJsonService,
+            SerializedGeoJsonService serializedGeoJsonService,
+            BinaryGeometryService binaryGeometryService,
+            ObjectMapper objectMapper) {
         this.geoJsonService = geoJsonService;
+        this.serializedGeoJsonService = serializedGeoJsonService;
+        this.binaryGeometryService = binaryGeometryService;
+        this.objectMapper = objectMapper;
     }
 
     /**
      * Get county geoJSON data for a specific state by FIPS prefix.
-     * GET /geojson/counties/state/{fipsPrefix}
+     * GET /geojson/counties/state/{fipsPrefix}?zoom=6 or ?tolerance=0.01
+     * Geometry is full resolution unless a zoom level or tolerance is given.
+     * {@code format=topojson} returns a quantized TopoJSON topology instead.
      */
     @GetMapping("/counties/state/{fipsPrefix}")
-    public ResponseEntity<GeoJsonResponse<CountyGeoJson>> getCountiesByState(@PathVariable String fipsPrefix) {
-        List<CountyGeoJson> counties = geoJsonService.getCountiesByState(fipsPrefix);
-        return ResponseEntity.ok(GeoJsonResponse.of(counties));
+    @SkipDatasetETag
+    public ResponseEntity<byte[]> getCountiesByState(
+            @PathVariable String fipsPrefix,
+            @RequestParam(required = false) Integer zoom,
+            @RequestParam(required = false) Double tolerance,
+            @RequestParam(defaultValue = GEOJSON) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        GeometryDetail detail = GeometryDetail.of(zoom, tolerance);
+        SerializedResponseCache.Entry counties = TOPOJSON.equalsIgnoreCase(format)
+                ? serializedGeoJsonService.getCountiesTopoJson(fipsPrefix, detail)
+                : serializedGeoJsonService.getCountiesByState(fipsPrefix, detail);
+        return counties.toResponse(acceptEncoding, CacheControl.noCache());
+    }
+
+    /**
+     * Get county geometry for a state in the packed binary layout when the client
+     * sends {@code Accept: application/vnd.cse416.packed-geometry}.
+     * The file is precomputed and sent without copying; single byte ranges are
+     * supported so a client can read the spatial index before any geometry.
+     */
+    @GetMapping(value = "/counties/state/{fipsPrefix}", produces = PackedGeometryWriter.MEDIA_TYPE)
+    @SkipDatasetETag
+    public void getCountiesByStateBinary(
+            @PathVariable String fipsPrefix,
+            @RequestParam(required = false) Integer zoom,
+            @RequestParam(required = false) Double tolerance,
+            HttpServletRequest request,
+            HttpServletResponse response)
+            throws IOException {
+        sendBinary(
+                binaryGeometryService.getCountiesByState(fipsPrefix, GeometryDetail.of(zoom, tolerance)),
+                request,
+                response);
+    }
+
+    /**
+     * Stream county geoJSON data for a specific state by FIPS prefix at full resolution.
+     * GET /geojson/counties/state/{fipsPrefix}/stream
+     * Features are written as they are read from Mongo, so memory stays flat and the
+     * first bytes go out before the last county is loaded.
+     */
+    @GetMapping("/counties/state/{fipsPrefix}/stream")
+    public ResponseEntity<StreamingResponseBody> streamCountiesByState(@PathVariable String fipsPrefix) {
+        StreamingResponseBody body = out -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                // The container owns the response stream
+                generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                generator.writeStartObject();
+                generator.writeStringField("type", "FeatureCollection");
+                generator.writeArrayFieldStart("features");
+                geoJsonService.streamCountiesByState(fipsPrefix, county -> {
+                    try {
+                        generator.writeObject(county);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Get county geometry for a state without metrics, tagged with a content-hash ETag.
+     * GET /geojson/counties/state/{fipsPrefix}/geometry?zoom=6
+     * Unchanged geometry revalidates to 304. Passing the current ETag as {@code v}
+     * marks the response immutable, since that URL can only ever hold this version.
+     */
+    @GetMapping("/counties/state/{fipsPrefix}/geometry")
+    @SkipDatasetETag
+    public ResponseEntity<byte[]> getCountyGeometry(
+            @PathVariable String fipsPrefix,
+            @RequestParam(required = false) Integer zoom,
+            @RequestParam(required = false) Double tolerance,
+            @RequestParam(required = false) String v,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        GeometryDetail detail = GeometryDetail.of(zoom, tolerance);
+        SerializedResponseCache.Entry geometry = serializedGeoJsonService.getCountyGeometry(fipsPrefix, detail);
+        CacheControl cacheControl = geometry.etag().equals(v)
+                ? CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable()
+                : CacheControl.noCache().cachePublic();
+        return geometry.toResponse(acceptEncoding, cacheControl);
+    }
+
+    /**
+     * Get choropleth metrics for every county in a state as geoid -> values.
+     * GET /geojson/counties/state/{fipsPrefix}/metrics
+     */
+    @GetMapping("/counties/state/{fipsPrefix}/metrics")
+    public ResponseEntity<CountyMetricsResponse> getCountyMetrics(@PathVariable String fipsPrefix) {
+        return ResponseEntity.ok(geoJsonService.getCountyMetrics(fipsPrefix));
     }
 
     /**
      * Get all state geoJSON data.
-     * GET /geojson/states
+     * GET /geojson/states?zoom=4 or ?tolerance=0.05
+     * Geometry is full resolution unless a zoom level or tolerance is given.
+     * {@code format=topojson} returns a quantized TopoJSON topology instead.
      */
     @GetMapping("/states")
-    public ResponseEntity<GeoJsonResponse<StateGeoJson>> getAllStates() {
-        List<StateGeoJson> states = geoJsonService.getAllStates();
-        return ResponseEntity.ok(GeoJsonResponse.of(states));
+    @SkipDatasetETag
+    public ResponseEntity<byte[]> getAllStates(
+            @RequestParam(required = false) Integer zoom,
+            @RequestParam(required = false) Double tolerance,
+            @RequestParam(defaultValue = GEOJSON) String format,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        GeometryDetail detail = GeometryDetail.of(zoom, tolerance);
+        SerializedResponseCache.Entry states = TOPOJSON.equalsIgnoreCase(format)
+                ? serializedGeoJsonService.getStatesTopoJson(detail)
+                : serializedGeoJsonService.getAllStates(detail);
+        return states.toResponse(acceptEncoding, CacheControl.noCache());
+    }
+
+    /**
+     * Get all state geometry in the packed binary layout when the client sends
+     * {@code Accept: application/vnd.cse416.packed-geometry}.
+     */
+    @GetMapping(value = "/states", produces = PackedGeometryWriter.MEDIA_TYPE)
+    @SkipDatasetETag
+    public void getAllStatesBinary(
+            @RequestParam(required = false) Integer zoom,
+            @RequestParam(required = false) Double tolerance,
+            HttpServletRequest request,
+            HttpServletResponse response)
+            throws IOException {
+        sendBinary(binaryGeometryService.getStates(GeometryDetail.of(zoom, tolerance)), request, response);
+    }
+
+    private static void sendBinary(Path file, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        if (file == null) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        // File names carry the layer, detail tier, dataset version and a content hash
+        String etag = "\"" + file.getFileName() + "\"";
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        if (new ServletWebRequest(request, response).checkNotModified(etag)) {
+            return;
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue());
+        ZeroCopyFileSender.send(file, PackedGeometryWriter.MEDIA_TYPE, request, response);
     }
 }
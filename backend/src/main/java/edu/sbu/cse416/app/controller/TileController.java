@@ -0,0 +1,30 @@
+package edu.sbu.cse416.app.controller;
+
+import edu.sbu.cse416.app.service.TileService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/tiles")
+public class TileController {
+
+    private static final String MVT_MEDIA_TYPE = "application/vnd.mapbox-vector-tile";
+
+    private final TileService tileService;
+
+    public TileController(TileService tileService) {
+        this.tileService = tileService;
+    }
+
+    /**
+     * Get a Mapbox Vector Tile for the counties or states layer.
+     * GET /tiles/{layer}/{z}/{x}/{y}.mvt
+     */
+    @GetMapping(value = "/{layer}/{z}/{x}/{y}.mvt", produces = MVT_MEDIA_TYPE)
+    public ResponseEntity<byte[]> getTile(
+            @PathVariable String layer, @PathVariable int z, @PathVariable int x, @PathVariable int y) {
+        byte[] tile = tileService.getTile(layer, z, x, y);
+        return (tile == null) ? ResponseEntity.status(HttpStatus.NOT_FOUND).build() : ResponseEntity.ok(tile);
+    }
+}
@@ -1,5 +1,7 @@
 package edu.sbu.cse416.app.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import edu.sbu.cse416.app.dto.activevoters.ActiveVotersChartResponse;
 import edu.sbu.cse416.app.dto.activevoters.ActiveVotersTableResponse;
 import edu.sbu.cse416.app.dto.cvap.CvapRegistrationRateResponse;
@@ -16,6 +18,7 @@ import edu.sbu.cse416.app.dto.pollbook.PollbookDeletionsChartResponse;
 import edu.sbu.cse416.app.dto.provisional.ProvisionalChartResponse;
 import edu.sbu.cse416.app.dto.provisional.ProvisionalTableResponse;
 import edu.sbu.cse416.app.dto.statecomparison.StateComparisonResponse;
+import edu.sbu.cse416.app.dto.voter.FloridaVoterDTO;
 import edu.sbu.cse416.app.dto.voter.FloridaVotersResponse;
 import edu.sbu.cse416.app.dto.voterregistration.VoterRegistrationChartResponse;
 import edu.sbu.cse416.app.dto.voterregistration.VoterRegistrationTableResponse;
@@ -25,13 +28,24 @@ import edu.sbu.cse416.app.dto.votingequipment.VotingEquipmentTableResponse;
 import edu.sbu.cse416.app.model.EIData;
 import edu.sbu.cse416.app.service.EIDataService;
 import edu.sbu.cse416.app.service.VoterDataService;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import org.apache.commons.csv.CSVFormat;
+import org.apache.commons.csv.CSVPrinter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.ContentDisposition;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @RestController
 @RequestMapping("/api")
@@ -39,11 +53,14 @@ public class VoterDataController {
 
     private final VoterDataService voterDataService;
     private final EIDataService eiDataService;
+    private final ObjectMapper objectMapper;
 
     @Autowired
-    public VoterDataController(VoterDataService voterDataService, EIDataService eiDataService) {
+    public VoterDataController(
+            VoterDataService voterDataService, EIDataService eiDataService, ObjectMapper objectMapper) {
         this.voterDataService = voterDataService;
         this.eiDataService = eiDataService;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -216,16 +233,94 @@ public class VoterDataController {
     /**
      * Get Florida voters data for a specific county by name.
      * GET /florida-voters/{countyName}
+     * Passing {@code cursor} (empty for the first page) switches from page
+     * numbers to keyset pages; each response carries the next page's cursor.
      */
     @GetMapping("/florida-voters/{countyName}")
     public ResponseEntity<FloridaVotersResponse> getFloridaVoters(
             @PathVariable String countyName,
             @RequestParam(required = false) String party,
+            @RequestParam(required = false) String cursor,
             @PageableDefault(size = 20) Pageable pageable) {
+        if (cursor != null) {
+            var voters = voterDataService.getFloridaVoters(countyName, party, cursor, pageable.getPageSize());
+            return (voters == null) ? ResponseEntity.status(HttpStatus.BAD_REQUEST).build() : ResponseEntity.ok(voters);
+        }
         FloridaVotersResponse voters = voterDataService.getFloridaVoters(countyName, party, pageable);
         return new ResponseEntity<>(voters, HttpStatus.OK);
     }
 
+    /**
+     * Search a Florida county's voters by name prefix.
+     * GET /florida-voters/{countyName}/search?prefix=
+     */
+    @GetMapping("/florida-voters/{countyName}/search")
+    public ResponseEntity<List<FloridaVoterDTO>> searchFloridaVoters(
+            @PathVariable String countyName,
+            @RequestParam String prefix,
+            @RequestParam(required = false) String party,
+            @RequestParam(defaultValue = "10") int limit) {
+        var response = voterDataService.searchFloridaVoters(countyName, party, prefix, limit);
+        return (response == null) ? ResponseEntity.status(HttpStatus.BAD_REQUEST).build() : ResponseEntity.ok(response);
+    }
+
+    /**
+     * Export every listed voter of a Florida county as CSV or NDJSON.
+     * GET /florida-voters/{countyName}/export?format=csv
+     * Rows are written as they are read from Mongo, so memory stays flat and a
+     * slow client only slows the cursor down.
+     */
+    @GetMapping("/florida-voters/{countyName}/export")
+    public ResponseEntity<StreamingResponseBody> exportFloridaVoters(
+            @PathVariable String countyName,
+            @RequestParam(required = false) String party,
+            @RequestParam(defaultValue = "csv") String format) {
+        StreamingResponseBody body;
+        MediaType mediaType;
+        if ("csv".equalsIgnoreCase(format)) {
+            mediaType = new MediaType("text", "csv", StandardCharsets.UTF_8);
+            body = out -> {
+                Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+                CSVFormat csv = CSVFormat.DEFAULT.builder().setHeader("Name", "Party").build();
+                CSVPrinter printer = new CSVPrinter(writer, csv);
+                voterDataService.streamFloridaVoters(countyName, party, voter -> {
+                    try {
+                        printer.printRecord(voter.name(), voter.party());
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                // Flush without closing; the container owns the response stream
+                printer.flush();
+            };
+        } else if ("ndjson".equalsIgnoreCase(format)) {
+            mediaType = MediaType.APPLICATION_NDJSON;
+            body = out -> {
+                try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+                    generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+                    // One object per line, without the default space between root values
+                    generator.setRootValueSeparator(null);
+                    voterDataService.streamFloridaVoters(countyName, party, voter -> {
+                        try {
+                            generator.writeObject(voter);
+                            generator.writeRaw('\n');
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+                }
+            };
+        } else {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        String filename = countyName.replaceAll("[^A-Za-z0-9-]", "_") + "-voters." + format.toLowerCase();
+        ContentDisposition disposition = ContentDisposition.attachment().filename(filename).build();
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .headers(headers -> headers.setContentDisposition(disposition))
+                .body(body);
+    }
+
     /**
      * Get Drop box voting data for a specific state by FIPS prefix.
      * GET /drop-box-voting/{fipsPrefix}
@@ -0,0 +1,10 @@
+package edu.sbu.cse416.app.dto.geojson;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Choropleth metrics for every county in a state, keyed by geoid. Each value
+ * lists the metrics in {@code metricLabels} order; missing metrics are null.
+ */
+public record CountyMetricsResponse(List<String> metricLabels, Map<String, List<Double>> metrics) {}
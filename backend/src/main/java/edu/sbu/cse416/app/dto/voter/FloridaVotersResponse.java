@@ -2,5 +2,13 @@ package edu.sbu.cse416.app.dto.voter;
 
 import java.util.List;
 
+/**
+ * One page of Florida voters. {@code nextCursor} is set only for keyset pages
+ * that have more voters after them.
+ */
 public record FloridaVotersResponse(
-        List<String> metricLabels, List<FloridaVoterDTO> voters, int totalPages, long totalElements) {}
+        List<String> metricLabels,
+        List<FloridaVoterDTO> voters,
+        int totalPages,
+        long totalElements,
+        String nextCursor) {}
@@ -1,13 +1,21 @@
 package edu.sbu.cse416.app.model.eavs;
 
 import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.CompoundIndexes;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Document("eavs_data")
+@CompoundIndexes({
+    @CompoundIndex(def = "{'stateAbbr': 1, 'electionYear': 1, 'isUocava': 1}"),
+    @CompoundIndex(def = "{'electionYear': 1, 'isUocava': 1}")
+})
 public record EavsData(
         @Id String id,
         String fipsCode,
         String jurisdictionName,
+        // Set at ingest for the statewide UOCAVA rows, which every query excludes
+        Boolean isUocava,
         String stateFull,
         String stateAbbr,
         Integer electionYear,
@@ -16,5 +16,5 @@ public record CountyGeoJson(@Id String id, String type, Properties properties, G
             Double mailBallotsRejectedPct,
             Double voterRegistrationPct) {}
 
-    public record Geometry(String type, Object coordinates) {}
+    public record Geometry(String type, PackedCoordinates coordinates) {}
 }
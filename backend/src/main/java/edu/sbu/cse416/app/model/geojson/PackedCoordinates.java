@@ -0,0 +1,230 @@
+package edu.sbu.cse416.app.model.geojson;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * GeoJSON coordinates held as one primitive array instead of nested lists of
+ * boxed doubles. Positions are interleaved x,y in {@code xy}; ring and polygon
+ * boundaries are kept as offsets.
+ *
+ * <p>Read from Mongo by the converter in {@code MongoConfig} and written back
+ * out as ordinary GeoJSON arrays by {@link Serializer}; {@link Deserializer}
+ * reads those arrays back, e.g. from the on-disk cache.
+ */
+@JsonSerialize(using = PackedCoordinates.Serializer.class)
+@JsonDeserialize(using = PackedCoordinates.Deserializer.class)
+public final class PackedCoordinates {
+
+    // Array nesting above a position: 0 Point, 1 LineString, 2 Polygon, 3 MultiPolygon
+    private final int depth;
+    private final double[] xy;
+    // Ring i spans points ringOffsets[i] until ringOffsets[i + 1]
+    private final int[] ringOffsets;
+    // Polygon p spans rings polygonOffsets[p] until polygonOffsets[p + 1]
+    private final int[] polygonOffsets;
+
+    private PackedCoordinates(int depth, double[] xy, int[] ringOffsets, int[] polygonOffsets) {
+        this.depth = depth;
+        this.xy = xy;
+        this.ringOffsets = ringOffsets;
+        this.polygonOffsets = polygonOffsets;
+    }
+
+    /**
+     * Pack GeoJSON coordinates given as nested lists of numbers.
+     */
+    public static PackedCoordinates fromGeoJson(Object coordinates) {
+        int depth = depthOf(coordinates);
+        List<?> polygons = coordinates instanceof List<?> list ? list : List.of();
+        for (int d = depth; d < 3; d++) {
+            polygons = List.of(polygons);
+        }
+
+        Builder builder = new Builder();
+        for (Object polygon : polygons) {
+            for (Object ring : (List<?>) polygon) {
+                for (Object position : (List<?>) ring) {
+                    if (position instanceof List<?> p
+                            && p.size() >= 2
+                            && p.get(0) instanceof Number x
+                            && p.get(1) instanceof Number y) {
+                        builder.add(x.doubleValue(), y.doubleValue());
+                    }
+                }
+                builder.endRing();
+            }
+            builder.endPolygon();
+        }
+        return builder.build(depth);
+    }
+
+    /**
+     * Pack polygons given as lists of closed interleaved x,y rings.
+     *
+     * @param multi whether to write a MultiPolygon rather than a single Polygon
+     */
+    public static PackedCoordinates ofPolygons(List<List<double[]>> polygons, boolean multi) {
+        Builder builder = new Builder();
+        for (List<double[]> rings : polygons) {
+            for (double[] ring : rings) {
+                for (int i = 0; i + 1 < ring.length; i += 2) {
+                    builder.add(ring[i], ring[i + 1]);
+                }
+                builder.endRing();
+            }
+            builder.endPolygon();
+        }
+        return builder.build(multi ? 3 : 2);
+    }
+
+    public boolean isPolygonal() {
+        return depth >= 2;
+    }
+
+    public int pointCount() {
+        return xy.length / 2;
+    }
+
+    /**
+     * Unpack to polygons of interleaved x,y rings. Non-polygonal coordinates
+     * yield an empty list.
+     */
+    public List<List<double[]>> toPolygons() {
+        if (!isPolygonal()) {
+            return List.of();
+        }
+        List<List<double[]>> polygons = new ArrayList<>(polygonOffsets.length - 1);
+        for (int p = 0; p + 1 < polygonOffsets.length; p++) {
+            List<double[]> rings = new ArrayList<>(polygonOffsets[p + 1] - polygonOffsets[p]);
+            for (int r = polygonOffsets[p]; r < polygonOffsets[p + 1]; r++) {
+                rings.add(Arrays.copyOfRange(xy, ringOffsets[r] * 2, ringOffsets[r + 1] * 2));
+            }
+            polygons.add(rings);
+        }
+        return polygons;
+    }
+
+    private static int depthOf(Object coordinates) {
+        int depth = -1;
+        Object current = coordinates;
+        while (current instanceof List<?> list) {
+            depth++;
+            if (list.isEmpty()) break;
+            current = list.get(0);
+        }
+        return Math.max(depth, 0);
+    }
+
+    private static final class Builder {
+        private double[] xy = new double[64];
+        private int size;
+        private final List<Integer> ringOffsets = new ArrayList<>(List.of(0));
+        private final List<Integer> polygonOffsets = new ArrayList<>(List.of(0));
+
+        void add(double x, double y) {
+            if (size + 2 > xy.length) {
+                xy = Arrays.copyOf(xy, xy.length * 2);
+            }
+            xy[size++] = x;
+            xy[size++] = y;
+        }
+
+        void endRing() {
+            ringOffsets.add(size / 2);
+        }
+
+        void endPolygon() {
+            polygonOffsets.add(ringOffsets.size() - 1);
+        }
+
+        PackedCoordinates build(int depth) {
+            return new PackedCoordinates(
+                    depth,
+                    Arrays.copyOf(xy, size),
+                    ringOffsets.stream().mapToInt(Integer::intValue).toArray(),
+                    polygonOffsets.stream().mapToInt(Integer::intValue).toArray());
+        }
+    }
+
+    /**
+     * Writes packed coordinates as the nested arrays GeoJSON expects.
+     */
+    public static final class Serializer extends StdSerializer<PackedCoordinates> {
+
+        public Serializer() {
+            super(PackedCoordinates.class);
+        }
+
+        @Override
+        public void serialize(PackedCoordinates value, JsonGenerator gen, SerializerProvider provider)
+                throws IOException {
+            switch (value.depth) {
+                case 0 -> writePosition(value, 0, gen);
+                case 1 -> writeRing(value, 0, gen);
+                case 2 -> writePolygon(value, 0, gen);
+                default -> {
+                    gen.writeStartArray();
+                    for (int p = 0; p + 1 < value.polygonOffsets.length; p++) {
+                        writePolygon(value, p, gen);
+                    }
+                    gen.writeEndArray();
+                }
+            }
+        }
+
+        private static void writePolygon(PackedCoordinates value, int polygon, JsonGenerator gen) throws IOException {
+            gen.writeStartArray();
+            if (polygon + 1 < value.polygonOffsets.length) {
+                for (int r = value.polygonOffsets[polygon]; r < value.polygonOffsets[polygon + 1]; r++) {
+                    writeRing(value, r, gen);
+                }
+            }
+            gen.writeEndArray();
+        }
+
+        private static void writeRing(PackedCoordinates value, int ring, JsonGenerator gen) throws IOException {
+            gen.writeStartArray();
+            if (ring + 1 < value.ringOffsets.length) {
+                for (int i = value.ringOffsets[ring]; i < value.ringOffsets[ring + 1]; i++) {
+                    writePosition(value, i, gen);
+                }
+            }
+            gen.writeEndArray();
+        }
+
+        private static void writePosition(PackedCoordinates value, int point, JsonGenerator gen) throws IOException {
+            if (point * 2 + 1 >= value.xy.length) {
+                gen.writeStartArray();
+                gen.writeEndArray();
+                return;
+            }
+            gen.writeArray(value.xy, point * 2, 2);
+        }
+    }
+
+    /**
+     * Reads GeoJSON coordinate arrays into packed coordinates.
+     */
+    public static final class Deserializer extends StdDeserializer<PackedCoordinates> {
+
+        public Deserializer() {
+            super(PackedCoordinates.class);
+        }
+
+        @Override
+        public PackedCoordinates deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+            return fromGeoJson(parser.readValueAs(List.class));
+        }
+    }
+}
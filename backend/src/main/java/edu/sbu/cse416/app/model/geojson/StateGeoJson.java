@@ -14,5 +14,5 @@ public record StateGeoJson(@Id String id, String type, Properties properties, Ge
             Double equipmentAge,
             Double dataQualityScore) {}
 
-    public record Geometry(String type, Object coordinates) {}
+    public record Geometry(String type, PackedCoordinates coordinates) {}
 }
@@ -1,8 +1,23 @@
 package edu.sbu.cse416.app.model.registration;
 
+import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
+/**
+ * A Florida voter. {@code sortName} (the upper-case name) and {@code validName}
+ * (the name starts with a letter) are computed by the loader, so listings are
+ * index range scans that need no regex or per-row string work.
+ */
+// _id ends the index so keyset pages seek past ties on name without a sort stage
 @Document(collection = "florida_voters")
-@CompoundIndex(def = "{'countyName': 1, 'party': 1, 'name': 1}")
-public record Voter(String name, String countyName, String party, String address, String email) {}
+@CompoundIndex(def = "{'countyName': 1, 'validName': 1, 'party': 1, 'sortName': 1, '_id': 1}")
+public record Voter(
+        @Id String id,
+        String name,
+        String sortName,
+        Boolean validName,
+        String countyName,
+        String party,
+        String address,
+        String email) {}
@@ -0,0 +1,9 @@
+package edu.sbu.cse416.app.model.registration;
+
+import org.springframework.data.annotation.Id;
+
+/**
+ * The {@link Voter} fields a listing returns. All of them are in the listing
+ * index, so listing queries are answered from the index alone.
+ */
+public record VoterListing(@Id String id, String sortName, String party) {}
@@ -0,0 +1,4 @@
+package edu.sbu.cse416.app.model.registration;
+
+/** Number of listed Florida voters in one county and party. */
+public record VoterPartyCount(String countyName, String party, long count) {}
@@ -2,6 +2,7 @@ package edu.sbu.cse416.app.repository;
 
 import edu.sbu.cse416.app.model.geojson.CountyGeoJson;
 import java.util.List;
+import java.util.stream.Stream;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
@@ -10,4 +11,12 @@ import org.springframework.stereotype.Repository;
 public interface CountyGeoJsonRepository extends MongoRepository<CountyGeoJson, String> {
     @Query("{ 'properties.geoid': { $regex: '^?0' } }")
     List<CountyGeoJson> findByFipsCode(String fipsPrefix);
+
+    // Cursor-backed; callers must close the stream
+    @Query("{ 'properties.geoid': { $regex: '^?0' } }")
+    Stream<CountyGeoJson> streamByFipsCode(String fipsPrefix);
+
+    // Properties only, for metric lookups that do not need geometry
+    @Query(value = "{ 'properties.geoid': { $regex: '^?0' } }", fields = "{ 'type': 1, 'properties': 1 }")
+    List<CountyGeoJson> findPropertiesByFipsCode(String fipsPrefix);
 }
@@ -7,23 +7,73 @@ import org.springframework.data.mongodb.repository.Query;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface EavsDataRepository extends MongoRepository<EavsData, String> {
+public interface EavsDataRepository extends MongoRepository<EavsData, String>, EavsDataRepositoryCustom {
 
     /**
      * Fetch EAVS records by 2-letter state abbreviation for 2024 only, excluding
      * UOCAVA.
      */
-    @Query("{ 'stateAbbr': ?0, 'electionYear': 2024, 'jurisdictionName': { $not: { $regex: '^UOCAVA' } } }")
+    @Query("{ 'stateAbbr': ?0, 'electionYear': 2024, 'isUocava': false }")
     List<EavsData> findByStateAbbr(String stateAbbr);
 
     /**
      * Fetch EAVS records by 2-letter state abbreviation for all years, excluding
      * UOCAVA.
      */
-    @Query("{ 'stateAbbr': ?0, 'jurisdictionName': { $not: { $regex: '^UOCAVA' } } }")
+    @Query("{ 'stateAbbr': ?0, 'isUocava': false }")
     List<EavsData> findByStateAbbrAllYears(String stateAbbr);
 
     /** Fetch all EAVS records excluding UOCAVA. */
-    @Query("{ 'jurisdictionName': { $not: { $regex: '^UOCAVA' } } }")
+    @Query("{ 'isUocava': false }")
     List<EavsData> findAllNonUocava();
+
+    // Projections: the queries below return EavsData with only the listed fields
+    // set, so each endpoint decodes just the subdocuments it reads.
+
+    /** 2024 turnout, mail and registration totals for state comparisons. */
+    @Query(
+            value = "{ 'stateAbbr': ?0, 'electionYear': 2024, 'isUocava': false }",
+            fields = "{ 'stateFull': 1, 'mailBallotsReturned': 1, 'mailCountedTotal': 1, 'dropBoxesTotal': 1,"
+                    + " 'inPersonEarlyVoting': 1, 'totalBallots': 1, 'voterRegistration': 1 }")
+    List<EavsData> findTurnoutByStateAbbr(String stateAbbr);
+
+    /** 2024 active registration by FIPS code for CVAP matching. */
+    @Query(
+            value = "{ 'stateAbbr': ?0, 'electionYear': 2024, 'isUocava': false }",
+            fields = "{ 'fipsCode': 1, 'voterRegistration.totalActive': 1 }")
+    List<EavsData> findActiveRegistrationByStateAbbr(String stateAbbr);
+
+    /** 2024 drop box and ballot totals by jurisdiction. */
+    @Query(
+            value = "{ 'stateAbbr': ?0, 'electionYear': 2024, 'isUocava': false }",
+            fields = "{ 'jurisdictionName': 1, 'dropBoxesTotal': 1, 'totalBallots': 1 }")
+    List<EavsData> findDropBoxByStateAbbr(String stateAbbr);
+
+    /** 2024 equipment and rejected ballot breakdown by jurisdiction. */
+    @Query(
+            value = "{ 'stateAbbr': ?0, 'electionYear': 2024, 'isUocava': false }",
+            fields = "{ 'jurisdictionName': 1, 'equipment': 1, 'mailBallotsRejectedReason': 1,"
+                    + " 'provisionalBallots.provRejected': 1, 'totalBallots': 1, 'totalRejectedBallots': 1,"
+                    + " 'percentageRejectedBallots': 1 }")
+    List<EavsData> findRejectedBallotsByStateAbbr(String stateAbbr);
+
+    /** Registered voter totals by jurisdiction for all years. */
+    @Query(
+            value = "{ 'stateAbbr': ?0, 'isUocava': false }",
+            fields = "{ 'fipsCode': 1, 'jurisdictionName': 1, 'electionYear': 1,"
+                    + " 'voterRegistration.totalRegistered': 1 }")
+    List<EavsData> findRegistrationHistoryByStateAbbr(String stateAbbr);
+
+    /** Equipment counts by jurisdiction for one election year across all states. */
+    @Query(
+            value = "{ 'electionYear': ?0, 'isUocava': false }",
+            fields = "{ 'stateFull': 1, 'fipsCode': 1, 'electionYear': 1, 'equipment': 1 }")
+    List<EavsData> findEquipmentByElectionYear(int electionYear);
+
+    /** 2024 fields behind the county choropleth metrics. */
+    @Query(
+            value = "{ 'stateAbbr': ?0, 'electionYear': 2024, 'isUocava': false }",
+            fields = "{ 'fipsCode': 1, 'totalBallots': 1, 'mailCountedTotal': 1, 'totalRejectedBallots': 1,"
+                    + " 'provisionalBallots.totalProv': 1, 'voterRegistration': 1, 'voterDeletion.removedTotal': 1 }")
+    List<EavsData> findChoroplethByStateAbbr(String stateAbbr);
 }
@@ -0,0 +1,30 @@
+package edu.sbu.cse416.app.repository;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.SortedMap;
+
+/**
+ * EAVS queries that run as Mongo aggregation pipelines, so only the summed
+ * values cross the wire instead of every jurisdiction document.
+ */
+public interface EavsDataRepositoryCustom {
+
+    /**
+     * Sum fields of a nested record (e.g. provisionalBallots) over a state's
+     * jurisdictions for one election year, excluding UOCAVA. Keys are the field names.
+     */
+    Map<String, Long> sumFields(String stateAbbr, int electionYear, String group, Collection<String> fields);
+
+    /**
+     * Sum fields of a nested record over a state's jurisdictions per election year,
+     * excluding UOCAVA and jurisdictions without that record.
+     */
+    SortedMap<Integer, Map<String, Long>> sumFieldsByYear(String stateAbbr, String group, Collection<String> fields);
+
+    /**
+     * Average a top-level field over each state's jurisdictions for one election
+     * year, excluding UOCAVA. Keys are state abbreviations; null values are ignored.
+     */
+    Map<String, Double> averageFieldByState(int electionYear, String field);
+}
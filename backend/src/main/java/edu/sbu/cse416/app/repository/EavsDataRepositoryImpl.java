@@ -0,0 +1,93 @@
+package edu.sbu.cse416.app.repository;
+
+import edu.sbu.cse416.app.model.eavs.EavsData;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.GroupOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+
+class EavsDataRepositoryImpl implements EavsDataRepositoryCustom {
+
+    private final MongoTemplate mongoTemplate;
+
+    EavsDataRepositoryImpl(MongoTemplate mongoTemplate) {
+        this.mongoTemplate = mongoTemplate;
+    }
+
+    @Override
+    public Map<String, Long> sumFields(String stateAbbr, int electionYear, String group, Collection<String> fields) {
+        Criteria match = nonUocava(stateAbbr).and("electionYear").is(electionYear);
+        Aggregation aggregation =
+                Aggregation.newAggregation(Aggregation.match(match), sum(Aggregation.group(), group, fields));
+
+        Document result = mongoTemplate
+                .aggregate(aggregation, EavsData.class, Document.class)
+                .getUniqueMappedResult();
+        return result == null ? Map.of() : readSums(result, fields);
+    }
+
+    @Override
+    public SortedMap<Integer, Map<String, Long>> sumFieldsByYear(
+            String stateAbbr, String group, Collection<String> fields) {
+        Criteria match = nonUocava(stateAbbr).and(group).ne(null);
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(match), sum(Aggregation.group("electionYear"), group, fields));
+
+        List<Document> results = mongoTemplate
+                .aggregate(aggregation, EavsData.class, Document.class)
+                .getMappedResults();
+
+        SortedMap<Integer, Map<String, Long>> byYear = new TreeMap<>();
+        for (Document result : results) {
+            if (result.get("_id") instanceof Number year) {
+                byYear.put(year.intValue(), readSums(result, fields));
+            }
+        }
+        return byYear;
+    }
+
+    @Override
+    public Map<String, Double> averageFieldByState(int electionYear, String field) {
+        Criteria match = Criteria.where("electionYear").is(electionYear).and("isUocava").is(false);
+        Aggregation aggregation = Aggregation.newAggregation(
+                Aggregation.match(match),
+                Aggregation.group("stateAbbr").avg(field).as(field));
+
+        Map<String, Double> byState = new HashMap<>();
+        for (Document result : mongoTemplate
+                .aggregate(aggregation, EavsData.class, Document.class)
+                .getMappedResults()) {
+            if (result.get("_id") instanceof String stateAbbr && result.get(field) instanceof Number average) {
+                byState.put(stateAbbr, average.doubleValue());
+            }
+        }
+        return byState;
+    }
+
+    private static Criteria nonUocava(String stateAbbr) {
+        return Criteria.where("stateAbbr").is(stateAbbr).and("isUocava").is(false);
+    }
+
+    private static GroupOperation sum(GroupOperation groupOperation, String group, Collection<String> fields) {
+        for (String field : fields) {
+            groupOperation = groupOperation.sum(group + "." + field).as(field);
+        }
+        return groupOperation;
+    }
+
+    private static Map<String, Long> readSums(Document result, Collection<String> fields) {
+        Map<String, Long> sums = new HashMap<>();
+        for (String field : fields) {
+            Object value = result.get(field);
+            sums.put(field, value instanceof Number n ? n.longValue() : 0L);
+        }
+        return sums;
+    }
+}
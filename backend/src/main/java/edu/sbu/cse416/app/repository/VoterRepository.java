@@ -1,14 +1,56 @@
 package edu.sbu.cse416.app.repository;
 
 import edu.sbu.cse416.app.model.registration.Voter;
+import edu.sbu.cse416.app.model.registration.VoterListing;
+import edu.sbu.cse416.app.model.registration.VoterPartyCount;
+import java.util.Collection;
 import java.util.List;
-import org.springframework.data.domain.Page;
+import java.util.stream.Stream;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Range;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.mongodb.repository.Aggregation;
+import org.springframework.data.mongodb.repository.Meta;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
 public interface VoterRepository extends MongoRepository<Voter, String> {
     List<Voter> findByCountyName(String countyName);
 
-    Page<Voter> findByCountyNameAndPartyInAndNameRegex(
-            String countyName, java.util.Collection<String> parties, String nameRegex, Pageable pageable);
+    /**
+     * One page of the listing. Returns a list rather than a page so no count
+     * query runs; totals come from {@link #countByCountyAndParty}.
+     */
+    List<VoterListing> findByCountyNameAndValidNameTrueAndPartyIn(
+            String countyName, Collection<String> parties, Pageable pageable);
+
+    /**
+     * Keyset variant of the paged query: seeks past {@code position} instead of
+     * skipping documents, and runs no count.
+     */
+    Window<VoterListing> findByCountyNameAndValidNameTrueAndPartyIn(
+            String countyName, Collection<String> parties, ScrollPosition position, Sort sort, Limit limit);
+
+    /**
+     * Listed voters whose sort name falls in {@code sortName}, a range on the
+     * listing index. Used for prefix search.
+     */
+    List<VoterListing> findByCountyNameAndValidNameTrueAndPartyInAndSortNameBetween(
+            String countyName, Collection<String> parties, Range<String> sortName, Sort sort, Limit limit);
+
+    // Cursor-backed; callers must close the stream. Large batches keep round trips rare on full-county reads.
+    @Meta(cursorBatchSize = 5000)
+    Stream<VoterListing> streamByCountyNameAndValidNameTrueAndPartyIn(
+            String countyName, Collection<String> parties, Sort sort);
+
+    /** Listed voters counted per county and party. */
+    @Aggregation(
+            pipeline = {
+                "{ '$match': { 'validName': true } }",
+                "{ '$group': { '_id': { 'countyName': '$countyName', 'party': '$party' }, 'count': { '$sum': 1 } } }",
+                "{ '$project': { '_id': 0, 'countyName': '$_id.countyName', 'party': '$_id.party', 'count': 1 } }"
+            })
+    List<VoterPartyCount> countByCountyAndParty();
 }
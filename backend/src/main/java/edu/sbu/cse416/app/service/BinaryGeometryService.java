@@ -0,0 +1,260 @@
+package edu.sbu.cse416.app.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import edu.sbu.cse416.app.model.geojson.CountyGeoJson;
+import edu.sbu.cse416.app.model.geojson.StateGeoJson;
+import edu.sbu.cse416.app.util.FipsUtil;
+import edu.sbu.cse416.app.util.GeometryDetail;
+import edu.sbu.cse416.app.util.GeometryUtil;
+import edu.sbu.cse416.app.util.PackedGeometryWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+/**
+ * Precomputes the packed binary map layers described in {@link PackedGeometryWriter}
+ * as files, one per layer and detail tier, so they can be sent straight from
+ * disk. File names carry the layer, the dataset version and a hash of the
+ * file's content, and double as ETags, so identical data gets the same ETag on
+ * every node and across restarts. Files are rebuilt in a new generation when
+ * the data behind the layers changes.
+ *
+ * <p>Layers exist only for known states and the fixed detail tiers, so the
+ * number of files is bounded. Files of an older generation are kept for a
+ * grace period, so sends of them still in flight can finish. Each file is
+ * written once by the first caller to ask for it, outside the map that tracks
+ * them, while other callers of the same file wait for it.
+ */
+@Service
+public class BinaryGeometryService {
+
+    private static final Logger log = LoggerFactory.getLogger(BinaryGeometryService.class);
+
+    private static final Set<String> STATE_FIPS = Set.copyOf(FipsUtil.getAllStateFips());
+    private static final long RETIRED_GRACE_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
+    // Collections the layers' geometry and properties are built from
+    private static final Set<String> SOURCES = Set.of("counties_geojson", "states_geojson", "eavs_data", "cvap_data");
+
+    private final GeoJsonService geoJsonService;
+    private final DatasetVersionService datasetVersionService;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    // generation-layer -> file being or done being written
+    private final Map<String, FutureTask<Path>> files = new ConcurrentHashMap<>();
+    // generation-layer -> file written for it, and file -> time its generation was
+    // replaced; both guarded by written, as one file can serve several generations
+    private final Map<String, Path> written = new HashMap<>();
+    private final Map<Path, Long> retired = new HashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+
+    public BinaryGeometryService(
+            GeoJsonService geoJsonService,
+            DatasetVersionService datasetVersionService,
+            ObjectMapper objectMapper,
+            @Value("${app.geometry.binary-dir:${java.io.tmpdir}/cse416-geometry}") Path directory)
+            throws IOException {
+        this.geoJsonService = geoJsonService;
+        this.datasetVersionService = datasetVersionService;
+        this.objectMapper = objectMapper;
+        this.directory = Files.createDirectories(directory);
+        deleteStaleFiles();
+    }
+
+    /**
+     * Get the packed file of all states at a detail level, writing it on first use.
+     */
+    public Path getStates(GeometryDetail detail) {
+        return file("states-" + detail, () -> {
+            List<StateGeoJson> states = geoJsonService.getAllStates(detail);
+            List<List<List<double[]>>> polygons = new ArrayList<>(states.size());
+            List<Object> properties = new ArrayList<>(states.size());
+            for (StateGeoJson state : states) {
+                polygons.add(GeometryUtil.toPolygons(state.geometry() == null ? null : state.geometry().coordinates()));
+                properties.add(state.properties());
+            }
+            return new Layer(polygons, properties);
+        });
+    }
+
+    /**
+     * Get the packed file of a state's counties at a detail level, writing it on
+     * first use. Returns null when the FIPS prefix is not a known state.
+     */
+    public Path getCountiesByState(String fipsPrefix, GeometryDetail detail) {
+        if (fipsPrefix == null || !STATE_FIPS.contains(fipsPrefix)) {
+            return null;
+        }
+        return file("counties-" + fipsPrefix + "-" + detail, () -> {
+            List<CountyGeoJson> counties = geoJsonService.getCountiesByState(fipsPrefix, detail);
+            List<List<List<double[]>>> polygons = new ArrayList<>(counties.size());
+            List<Object> properties = new ArrayList<>(counties.size());
+            for (CountyGeoJson county : counties) {
+                polygons.add(
+                        GeometryUtil.toPolygons(county.geometry() == null ? null : county.geometry().coordinates()));
+                properties.add(county.properties());
+            }
+            return new Layer(polygons, properties);
+        });
+    }
+
+    /**
+     * Start a new generation once the geometry or metrics behind the files
+     * change. Runs after cache eviction, so rebuilt files read the new data.
+     * Replaced files are deleted on a later rollover, once past the grace
+     * period, unless the new generation wrote the same content again.
+     */
+    @Order(1)
+    @EventListener
+    public void onDatasetChanged(DatasetChangedEvent event) {
+        if (!SOURCES.contains(event.collection())) {
+            return;
+        }
+        String current = prefix(generation.incrementAndGet());
+        long now = System.currentTimeMillis();
+        files.keySet().removeIf(key -> !key.startsWith(current));
+        synchronized (written) {
+            // Also catches files of the old generation that finished writing during the rollover
+            written.entrySet().removeIf(entry -> {
+                if (entry.getKey().startsWith(current)) {
+                    return false;
+                }
+                retired.put(entry.getValue(), now);
+                return true;
+            });
+            retired.entrySet().removeIf(entry -> {
+                if (written.containsValue(entry.getKey())) {
+                    return true;
+                }
+                if (now - entry.getValue() < RETIRED_GRACE_MILLIS) {
+                    return false;
+                }
+                try {
+                    Files.deleteIfExists(entry.getKey());
+                } catch (IOException e) {
+                    log.warn("Could not delete stale packed geometry {}", entry.getKey(), e);
+                }
+                return true;
+            });
+        }
+    }
+
+    private static String prefix(long generation) {
+        return generation + "-";
+    }
+
+    private Path file(String name, Supplier<Layer> layer) {
+        String key = prefix(generation.get()) + name;
+        FutureTask<Path> task = files.get(key);
+        if (task == null) {
+            FutureTask<Path> write = new FutureTask<>(() -> write(key, name, layer));
+            task = files.putIfAbsent(key, write);
+            if (task == null) {
+                // Built on the caller's thread, with no lock held
+                task = write;
+                write.run();
+            }
+        }
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted waiting for packed geometry " + name, e);
+        } catch (ExecutionException e) {
+            // Let the next caller try again
+            files.remove(key, task);
+            if (e.getCause() instanceof IOException io) {
+                throw new UncheckedIOException("Failed to write packed geometry " + name, io);
+            }
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Failed to write packed geometry " + name, e.getCause());
+        }
+    }
+
+    /**
+     * Write a layer to a staging file, then move it to a name derived from its
+     * content. A file of that name already holds the same bytes and is kept.
+     */
+    private Path write(String key, String name, Supplier<Layer> layer) throws IOException {
+        long version = datasetVersionService.current();
+        Layer l = layer.get();
+        Path staging = directory.resolve(key + ".part");
+        try {
+            PackedGeometryWriter.write(staging, l.polygons(), l.properties(), objectMapper);
+            Path target = directory.resolve(name + "-" + version + "-" + hash(staging) + ".bin");
+            synchronized (written) {
+                if (!Files.exists(target)) {
+                    Files.move(staging, target, StandardCopyOption.ATOMIC_MOVE);
+                }
+                written.put(key, target);
+                retired.remove(target);
+            }
+            return target;
+        } finally {
+            Files.deleteIfExists(staging);
+        }
+    }
+
+    private static String hash(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest(), 0, 12);
+    }
+
+    /**
+     * Files left from an earlier run may have been written for older data, and
+     * staging files from an interrupted write are never finished, so both go.
+     * Rebuilt files come back under the same name when their content is unchanged.
+     */
+    private void deleteStaleFiles() throws IOException {
+        try (DirectoryStream<Path> stale = Files.newDirectoryStream(directory, "*.{bin,part,tmp}")) {
+            for (Path file : stale) {
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    log.warn("Could not delete stale packed geometry {}", file, e);
+                }
+            }
+        }
+    }
+
+    private record Layer(List<List<List<double[]>>> polygons, List<Object> properties) {}
+}
@@ -0,0 +1,133 @@
+package edu.sbu.cse416.app.service;
+
+import edu.sbu.cse416.app.config.RefreshAheadCache;
+import edu.sbu.cse416.app.config.TieredCacheManager;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+/**
+ * Evicts cached responses when the ingest scripts change the data behind them,
+ * in place of a time-based expiry.
+ *
+ * <p>Only the caches built from the changed collection are touched, and when
+ * the change is limited to some states, only entries whose key mentions one of
+ * those states' FIPS codes, or no FIPS code at all (national views), go.
+ */
+@Service
+public class CacheInvalidationService {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheInvalidationService.class);
+
+    private static final List<String> GEOMETRY_CACHES = List.of(
+            "countiesByState", "countyGeometry", "countyMetrics", "states", "vectorTiles", "serializedResponses");
+
+    // Caches built from each collection
+    private static final Map<String, List<String>> CACHES_BY_COLLECTION = Map.of(
+            "eavs_data",
+            concat(
+                    GEOMETRY_CACHES,
+                    "provisionalTable",
+                    "provisionalChart",
+                    "activeVotersTable",
+                    "activeVotersChart",
+                    "pollbookDeletionsChart",
+                    "mailBallotsRejectedTable",
+                    "mailBallotsRejectedChart",
+                    "votingEquipmentTable",
+                    "votingEquipmentChart",
+                    "voterRegistrationChart",
+                    "cvapRegistrationRate",
+                    "stateComparison",
+                    "earlyVotingComparison",
+                    "optInOptOutComparison",
+                    "dropBoxVotingData",
+                    "countyEquipmentTypes",
+                    "equipmentQualityChart"),
+            "cvap_data",
+            concat(GEOMETRY_CACHES, "cvapRegistrationRate", "stateComparison", "optInOptOutComparison"),
+            "counties_geojson",
+            GEOMETRY_CACHES,
+            "states_geojson",
+            GEOMETRY_CACHES,
+            "felony_data",
+            List.of("stateComparison", "optInOptOutComparison"),
+            "state_voter_registration",
+            List.of("voterRegistrationTable"),
+            "county_vote_split",
+            List.of("dropBoxVotingData", "equipmentQualityChart"),
+            "gingles_chart_data",
+            List.of("ginglesChartData"),
+            "equipment_data",
+            List.of("equipmentSummary", "stateEquipmentSummary", "equipmentQualityChart"));
+
+    // Keyed by tile coordinates rather than FIPS codes, so always cleared whole
+    private static final Set<String> UNSCOPED_CACHES = Set.of("vectorTiles");
+
+    private static final Pattern KEY_SEPARATORS = Pattern.compile("[^0-9A-Za-z]+");
+
+    private final CacheManager cacheManager;
+
+    public CacheInvalidationService(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    /**
+     * Runs after in-memory copies of the data have reloaded, so a request racing
+     * the eviction cannot refill a cache from the old copy.
+     */
+    @Order(0)
+    @EventListener
+    public void onDatasetChanged(DatasetChangedEvent event) {
+        for (String name : CACHES_BY_COLLECTION.getOrDefault(event.collection(), List.of())) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache == null) continue;
+
+            if (event.states() == null || UNSCOPED_CACHES.contains(name)) {
+                cache.clear();
+            } else if (cache instanceof TieredCacheManager.TieredCache tiered) {
+                tiered.evictIf(key -> affects(key, event.states()));
+            } else if (cache instanceof RefreshAheadCache refreshing) {
+                refreshing.evictIf(key -> affects(key, event.states()));
+            } else if (cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> entries) {
+                entries.asMap().keySet().removeIf(key -> affects(String.valueOf(key), event.states()));
+            } else {
+                cache.clear();
+            }
+        }
+        log.debug("Evicted caches for {} (states {})", event.collection(), event.states());
+    }
+
+    /**
+     * Whether a cache key covers any of the given states: it names a FIPS code
+     * starting with one of them, or names no FIPS code and so covers them all.
+     */
+    static boolean affects(String key, Collection<String> states) {
+        boolean scoped = false;
+        for (String token : KEY_SEPARATORS.split(key)) {
+            if (token.isEmpty() || !token.chars().allMatch(Character::isDigit)) continue;
+            scoped = true;
+            for (String state : states) {
+                if (token.startsWith(state)) {
+                    return true;
+                }
+            }
+        }
+        return !scoped;
+    }
+
+    private static List<String> concat(List<String> base, String... more) {
+        return Stream.concat(base.stream(), Arrays.stream(more)).toList();
+    }
+}
@@ -0,0 +1,219 @@
+package edu.sbu.cse416.app.service;
+
+import edu.sbu.cse416.app.util.FipsUtil;
+import edu.sbu.cse416.app.util.GeometryDetail;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+/**
+ * Fills the response caches ahead of the first request, for every state and
+ * territory in {@link FipsUtil}, on a fixed-size pool so Mongo is not flooded.
+ * GeoJSON endpoints are warmed down to their serialized, gzipped bytes; the
+ * cross-state comparisons for the pairs the frontend asks for, and vector tiles
+ * up to {@code app.cache-warmup.tile-max-zoom}, are warmed too.
+ *
+ * <p>Warm-up starts once the application is ready and its progress backs the
+ * {@code cacheWarmup} health indicator, which is part of the readiness group.
+ * States whose data changes later are warmed again after their entries are
+ * evicted. Each run counts its own progress, so the indicator reports the
+ * latest run rather than failures accumulated since startup.
+ */
+@Service
+public class CacheWarmupService {
+
+    private static final Logger log = LoggerFactory.getLogger(CacheWarmupService.class);
+
+    private final VoterDataService voterDataService;
+    private final GeoJsonService geoJsonService;
+    private final SerializedGeoJsonService serializedGeoJsonService;
+    private final TileService tileService;
+    private final boolean enabled;
+    private final List<String> stateComparison;
+    private final List<String> optInOptOutComparison;
+    private final int tileMaxZoom;
+    private final ExecutorService executor;
+
+    private volatile Run run = new Run(0);
+    private volatile boolean done;
+
+    public CacheWarmupService(
+            VoterDataService voterDataService,
+            GeoJsonService geoJsonService,
+            SerializedGeoJsonService serializedGeoJsonService,
+            TileService tileService,
+            @Value("${app.cache-warmup.enabled:true}") boolean enabled,
+            @Value("${app.cache-warmup.threads:4}") int threads,
+            @Value("${app.cache-warmup.state-comparison:12,06}") List<String> stateComparison,
+            @Value("${app.cache-warmup.opt-in-opt-out-comparison:12,06,41}") List<String> optInOptOutComparison,
+            @Value("${app.cache-warmup.tile-max-zoom:4}") int tileMaxZoom) {
+        this.voterDataService = voterDataService;
+        this.geoJsonService = geoJsonService;
+        this.serializedGeoJsonService = serializedGeoJsonService;
+        this.tileService = tileService;
+        this.enabled = enabled;
+        this.stateComparison = stateComparison;
+        this.optInOptOutComparison = optInOptOutComparison;
+        this.tileMaxZoom = tileMaxZoom;
+        this.executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread thread = new Thread(r, "cache-warmup");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.done = !enabled;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        List<Runnable> tasks = new ArrayList<>(nationalTasks());
+        for (String stateFips : FipsUtil.getAllStateFips()) {
+            tasks.addAll(stateTasks(stateFips));
+        }
+        submit(tasks).whenComplete((ignored, e) -> done = true);
+    }
+
+    /**
+     * Warm the states a load touched again. Runs after the caches built from
+     * that data have been evicted.
+     */
+    @Order(2)
+    @EventListener
+    public void onDatasetChanged(DatasetChangedEvent event) {
+        if (!enabled) {
+            return;
+        }
+        List<Runnable> tasks = new ArrayList<>(nationalTasks());
+        for (String stateFips : event.states() == null ? FipsUtil.getAllStateFips() : event.states()) {
+            tasks.addAll(stateTasks(stateFips));
+        }
+        submit(tasks);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+    }
+
+    public boolean isDone() {
+        return done;
+    }
+
+    /**
+     * Entries in the latest run.
+     */
+    public int total() {
+        return run.total();
+    }
+
+    public int completed() {
+        return run.completed().get();
+    }
+
+    public int failed() {
+        return run.failed().get();
+    }
+
+    private CompletableFuture<Void> submit(List<Runnable> tasks) {
+        long start = System.nanoTime();
+        Run current = new Run(tasks.size());
+        run = current;
+        CompletableFuture<?>[] futures = tasks.stream()
+                .map(task -> CompletableFuture.runAsync(
+                        () -> {
+                            try {
+                                task.run();
+                            } catch (RuntimeException e) {
+                                current.failed().incrementAndGet();
+                                log.debug("Cache warm-up task failed", e);
+                            } finally {
+                                current.completed().incrementAndGet();
+                            }
+                        },
+                        executor))
+                .toArray(CompletableFuture[]::new);
+        return CompletableFuture.allOf(futures).whenComplete((ignored, e) -> log.info(
+                "Cache warm-up finished: {} of {} entries in {} ms, {} failed",
+                current.completed().get() - current.failed().get(),
+                current.total(),
+                (System.nanoTime() - start) / 1_000_000,
+                current.failed().get()));
+    }
+
+    /**
+     * Calls that go through the caching proxies, so each fills its cache.
+     */
+    private List<Runnable> nationalTasks() {
+        List<Runnable> tasks = new ArrayList<>();
+        tasks.add(voterDataService::getVotingEquipmentTable);
+        tasks.add(voterDataService::getEquipmentSummary);
+        if (stateComparison.size() == 2) {
+            tasks.add(() -> voterDataService.getStateComparison(stateComparison.get(0), stateComparison.get(1)));
+            tasks.add(() -> voterDataService.getEarlyVotingComparison(stateComparison.get(0), stateComparison.get(1)));
+        }
+        if (optInOptOutComparison.size() == 3) {
+            tasks.add(() -> voterDataService.getOptInOptOutComparison(
+                    optInOptOutComparison.get(0), optInOptOutComparison.get(1), optInOptOutComparison.get(2)));
+        }
+        for (GeometryDetail detail : GeometryDetail.values()) {
+            tasks.add(() -> serializedGeoJsonService.getAllStates(detail));
+        }
+        for (int z = 0; z <= tileMaxZoom; z++) {
+            for (int x = 0; x < 1 << z; x++) {
+                for (int y = 0; y < 1 << z; y++) {
+                    int zoom = z, column = x, row = y;
+                    tasks.add(() -> tileService.getTile(TileService.STATES, zoom, column, row));
+                    tasks.add(() -> tileService.getTile(TileService.COUNTIES, zoom, column, row));
+                }
+            }
+        }
+        return tasks;
+    }
+
+    private List<Runnable> stateTasks(String fips) {
+        List<Runnable> tasks = new ArrayList<>();
+        tasks.add(() -> voterDataService.getProvisionalTable(fips));
+        tasks.add(() -> voterDataService.getProvisionalChart(fips));
+        tasks.add(() -> voterDataService.getActiveVotersTable(fips));
+        tasks.add(() -> voterDataService.getActiveVotersChart(fips));
+        tasks.add(() -> voterDataService.getPollbookDeletionsChart(fips));
+        tasks.add(() -> voterDataService.getMailBallotsRejectedTable(fips));
+        tasks.add(() -> voterDataService.getMailBallotsRejectedChart(fips));
+        tasks.add(() -> voterDataService.getVotingEquipmentChart(fips));
+        tasks.add(() -> voterDataService.getVoterRegistrationTable(fips));
+        tasks.add(() -> voterDataService.getVoterRegistrationChart(fips));
+        tasks.add(() -> voterDataService.getCvapRegistrationRate(fips));
+        tasks.add(() -> voterDataService.getDropBoxVotingData(fips));
+        tasks.add(() -> voterDataService.getGinglesChartData(fips));
+        tasks.add(() -> voterDataService.getCountyEquipmentTypes(fips));
+        tasks.add(() -> voterDataService.getStateEquipmentSummary(fips));
+        tasks.add(() -> voterDataService.getEquipmentQualityVsRejectedBallots(fips));
+        tasks.add(() -> geoJsonService.getCountyMetrics(fips));
+        // Serializing fills the object caches behind the bytes as well
+        for (GeometryDetail detail : GeometryDetail.values()) {
+            tasks.add(() -> serializedGeoJsonService.getCountiesByState(fips, detail));
+            tasks.add(() -> serializedGeoJsonService.getCountyGeometry(fips, detail));
+        }
+        return tasks;
+    }
+
+    private record Run(int total, AtomicInteger completed, AtomicInteger failed) {
+
+        Run(int total) {
+            this(total, new AtomicInteger(), new AtomicInteger());
+        }
+    }
+}
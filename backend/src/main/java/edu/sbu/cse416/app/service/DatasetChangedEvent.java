@@ -0,0 +1,12 @@
+package edu.sbu.cse416.app.service;
+
+import java.util.List;
+
+/**
+ * Published by {@link DatasetVersionService} after the ingest scripts have
+ * changed a collection.
+ *
+ * @param collection the Mongo collection that changed
+ * @param states state FIPS codes whose data changed, or null for every state
+ */
+public record DatasetChangedEvent(String collection, List<String> states) {}
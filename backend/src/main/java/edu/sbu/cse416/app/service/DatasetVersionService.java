@@ -0,0 +1,179 @@
+package edu.sbu.cse416.app.service;
+
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.FullDocument;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.bson.Document;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Registry of dataset versions kept in Mongo by the ingest scripts (see
+ * {@code preprocessing/dataset_version.py}): one version per collection, plus a
+ * global version that ETags are derived from.
+ *
+ * <p>The registry is followed with a change stream, or polled every
+ * {@code app.dataset-version.poll-interval} where change streams are not
+ * available (a standalone mongod). Each collection version that moves
+ * publishes a {@link DatasetChangedEvent} naming the collection and the states
+ * it touched, so caches can evict just what was built from that data. When a
+ * version moved by more than one since it was last seen, several loads landed
+ * in between and only the last one's states are stored, so the event covers
+ * every state.
+ */
+@Service
+public class DatasetVersionService {
+
+    private static final Logger log = LoggerFactory.getLogger(DatasetVersionService.class);
+
+    static final String COLLECTION = "dataset_version";
+    static final String GLOBAL_ID = "global";
+
+    private final MongoTemplate mongoTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration pollInterval;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "dataset-version-watcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Map<String, Long> collectionVersions = new ConcurrentHashMap<>();
+    private volatile long version;
+    private volatile MongoChangeStreamCursor<ChangeStreamDocument<Document>> changeStream;
+
+    public DatasetVersionService(
+            MongoTemplate mongoTemplate,
+            ApplicationEventPublisher eventPublisher,
+            @Value("${app.dataset-version.poll-interval:5s}") Duration pollInterval) {
+        this.mongoTemplate = mongoTemplate;
+        this.eventPublisher = eventPublisher;
+        this.pollInterval = pollInterval;
+        // Baseline only: caches start empty, so there is nothing to evict yet
+        try {
+            for (Document document : readRegistry()) {
+                if (GLOBAL_ID.equals(document.get("_id"))) {
+                    version = versionOf(document);
+                } else if (document.get("_id") instanceof String collection) {
+                    collectionVersions.put(collection, versionOf(document));
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not read dataset versions at startup", e);
+        }
+    }
+
+    /**
+     * Global dataset version, bumped by every ingest.
+     */
+    public long current() {
+        return version;
+    }
+
+    /**
+     * Version of one collection, or 0 if it has never been loaded.
+     */
+    public long version(String collection) {
+        return collectionVersions.getOrDefault(collection, 0L);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        executor.execute(this::watch);
+    }
+
+    @PreDestroy
+    public void stop() {
+        executor.shutdownNow();
+        MongoChangeStreamCursor<?> cursor = changeStream;
+        if (cursor != null) {
+            cursor.close();
+        }
+    }
+
+    private void watch() {
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = mongoTemplate
+                .getCollection(COLLECTION)
+                .watch()
+                .fullDocument(FullDocument.UPDATE_LOOKUP)
+                .cursor()) {
+            changeStream = cursor;
+            // Pick up anything written between the baseline read and the stream opening
+            poll();
+            while (!executor.isShutdown()) {
+                Document document = cursor.next().getFullDocument();
+                if (document != null) {
+                    apply(document);
+                }
+            }
+        } catch (RuntimeException e) {
+            if (executor.isShutdown()) {
+                return;
+            }
+            log.info("Dataset version change stream unavailable ({}), polling every {}", e.getMessage(), pollInterval);
+            executor.scheduleWithFixedDelay(this::poll, 0, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void poll() {
+        try {
+            List<Document> registry = readRegistry();
+            // Collections before the global version, so caches are evicted before ETags move
+            registry.sort(Comparator.comparing(document -> GLOBAL_ID.equals(document.get("_id"))));
+            registry.forEach(this::apply);
+        } catch (RuntimeException e) {
+            log.warn("Could not poll dataset versions", e);
+        }
+    }
+
+    private synchronized void apply(Document document) {
+        long stored = versionOf(document);
+        if (GLOBAL_ID.equals(document.get("_id"))) {
+            version = stored;
+            return;
+        }
+        if (!(document.get("_id") instanceof String collection)) {
+            return;
+        }
+        Long known = collectionVersions.put(collection, stored);
+        if (known != null && known == stored) {
+            return;
+        }
+        // Each bump overwrites the stored states, so after a missed bump only "all states" is safe
+        long expected = known == null ? 1 : known + 1;
+        List<String> states = stored == expected ? statesOf(document) : null;
+        log.info("{} changed to version {} for states {}", collection, stored, states == null ? "all" : states);
+        eventPublisher.publishEvent(new DatasetChangedEvent(collection, states));
+    }
+
+    private List<Document> readRegistry() {
+        return mongoTemplate.getCollection(COLLECTION).find().into(new ArrayList<>());
+    }
+
+    private static long versionOf(Document document) {
+        return document.get("version") instanceof Number n ? n.longValue() : 0L;
+    }
+
+    private static List<String> statesOf(Document document) {
+        if (!(document.get("states") instanceof List<?> states)) {
+            return null;
+        }
+        return states.stream().map(String::valueOf).toList();
+    }
+}
@@ -0,0 +1,374 @@
+package edu.sbu.cse416.app.service;
+
+import edu.sbu.cse416.app.model.eavs.EavsData;
+import edu.sbu.cse416.app.repository.EavsDataRepository;
+import edu.sbu.cse416.app.util.RecordAggregator;
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+/**
+ * In-memory columnar copy of the non-UOCAVA {@code eavs_data} collection.
+ * Rows are partitioned by state abbreviation and election year, and every numeric
+ * metric is held in a primitive column, so endpoints read arrays instead of making
+ * a Mongo round trip and materializing {@link EavsData} records.
+ *
+ * <p>Columns are named after the record components of {@link EavsData} and its
+ * nested records (e.g. {@code totalProv}, {@code late}, {@code scanner}). Nested
+ * record components are flattened, so those names are unique across the store.
+ */
+@Service
+public class EavsColumnStore {
+
+    private static final Logger log = LoggerFactory.getLogger(EavsColumnStore.class);
+
+    private static final Schema SCHEMA = Schema.of(EavsData.class);
+
+    private final EavsDataRepository repo;
+
+    // stateAbbr -> electionYear -> partition, swapped atomically on reload
+    private volatile Map<String, SortedMap<Integer, Partition>> partitions;
+
+    public EavsColumnStore(EavsDataRepository repo) {
+        this.repo = repo;
+    }
+
+    /**
+     * Load the store once the application is up. A failure here is not fatal;
+     * the first lookup retries the load.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Could not load EAVS column store at startup, will retry on first lookup", e);
+        }
+    }
+
+    /**
+     * Reload after an ingest of {@code eavs_data}. Until the reload finishes,
+     * lookups keep reading the previous partitions. Runs before cache eviction so
+     * evicted entries are rebuilt from the new data.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(condition = "#event.collection() == 'eavs_data'")
+    public void onDatasetChanged(DatasetChangedEvent event) {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Could not reload EAVS column store after dataset change", e);
+        }
+    }
+
+    /**
+     * Rebuild every partition from {@code eavs_data} and swap them in.
+     */
+    public synchronized void reload() {
+        long start = System.nanoTime();
+        List<EavsData> rows = repo.findAllNonUocava();
+
+        Map<String, Map<Integer, List<EavsData>>> grouped = new HashMap<>();
+        for (EavsData row : rows) {
+            if (row.stateAbbr() == null || row.electionYear() == null) continue;
+            grouped.computeIfAbsent(row.stateAbbr(), k -> new HashMap<>())
+                    .computeIfAbsent(row.electionYear(), k -> new ArrayList<>())
+                    .add(row);
+        }
+
+        Map<String, SortedMap<Integer, Partition>> built = new HashMap<>();
+        int partitionCount = 0;
+        for (var state : grouped.entrySet()) {
+            SortedMap<Integer, Partition> years = new TreeMap<>();
+            state.getValue().forEach((year, partitionRows) -> years.put(year, SCHEMA.build(partitionRows)));
+            built.put(state.getKey(), Collections.unmodifiableSortedMap(years));
+            partitionCount += years.size();
+        }
+        partitions = Map.copyOf(built);
+
+        log.info(
+                "Loaded {} EAVS rows into {} partitions in {} ms",
+                rows.size(),
+                partitionCount,
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Get the partition for a state and election year. Unknown states and years
+     * yield an empty partition.
+     */
+    public Partition partition(String stateAbbr, int electionYear) {
+        return partitions(stateAbbr).getOrDefault(electionYear, SCHEMA.empty());
+    }
+
+    /**
+     * Get every election year partition for a state, ordered by year.
+     */
+    public SortedMap<Integer, Partition> partitions(String stateAbbr) {
+        if (stateAbbr == null) {
+            return Collections.emptySortedMap();
+        }
+        Map<String, SortedMap<Integer, Partition>> current = partitions;
+        if (current == null) {
+            synchronized (this) {
+                if (partitions == null) {
+                    reload();
+                }
+                current = partitions;
+            }
+        }
+        return current.getOrDefault(stateAbbr, Collections.emptySortedMap());
+    }
+
+    /**
+     * Column-oriented slice of EAVS rows for one state and election year.
+     * Null values read as 0 from the primitive columns; use {@link #isNull} and
+     * {@link #has} where the distinction matters.
+     */
+    public static final class Partition implements RecordAggregator.ColumnSums {
+
+        private final Schema schema;
+        private final int size;
+        private final String[][] stringColumns;
+        private final int[][] intColumns;
+        private final double[][] doubleColumns;
+        private final BitSet[] intNulls;
+        private final BitSet[] doubleNulls;
+        private final BitSet[] groupPresent;
+
+        private Partition(
+                Schema schema,
+                int size,
+                String[][] stringColumns,
+                int[][] intColumns,
+                double[][] doubleColumns,
+                BitSet[] intNulls,
+                BitSet[] doubleNulls,
+                BitSet[] groupPresent) {
+            this.schema = schema;
+            this.size = size;
+            this.stringColumns = stringColumns;
+            this.intColumns = intColumns;
+            this.doubleColumns = doubleColumns;
+            this.intNulls = intNulls;
+            this.doubleNulls = doubleNulls;
+            this.groupPresent = groupPresent;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        public String string(String column, int row) {
+            return stringColumns[schema.index(schema.stringIndex, column)][row];
+        }
+
+        public String jurisdictionName(int row) {
+            return string("jurisdictionName", row);
+        }
+
+        public String fipsCode(int row) {
+            return string("fipsCode", row);
+        }
+
+        public String stateFull(int row) {
+            return string("stateFull", row);
+        }
+
+        /** Primitive column for an Integer metric; nulls read as 0. Do not modify. */
+        public int[] ints(String column) {
+            return intColumns[schema.index(schema.intIndex, column)];
+        }
+
+        /** Primitive column for a Double metric; nulls read as 0.0. Do not modify. */
+        public double[] doubles(String column) {
+            return doubleColumns[schema.index(schema.doubleIndex, column)];
+        }
+
+        public boolean isNull(String column, int row) {
+            Integer i = schema.intIndex.get(column);
+            if (i != null) {
+                return intNulls[i].get(row);
+            }
+            return doubleNulls[schema.index(schema.doubleIndex, column)].get(row);
+        }
+
+        /** Whether the nested record (e.g. {@code equipment}) is present on a row. */
+        public boolean has(String group, int row) {
+            return groupPresent[schema.index(schema.groupIndex, group)].get(row);
+        }
+
+        /** Whether any row has the nested record (e.g. {@code equipment}). */
+        public boolean hasAny(String group) {
+            return !groupPresent[schema.index(schema.groupIndex, group)].isEmpty();
+        }
+
+        /**
+         * Sum an Integer column over every row. Unknown columns sum to 0 so response
+         * records can be filled by component name.
+         */
+        @Override
+        public long sum(String column) {
+            Integer i = schema.intIndex.get(column);
+            if (i == null) {
+                return 0L;
+            }
+            long total = 0L;
+            for (int v : intColumns[i]) {
+                total += v;
+            }
+            return total;
+        }
+
+        /**
+         * Sum a Double column over every row, falling back to an Integer column
+         * of that name. Unknown columns sum to 0.
+         */
+        @Override
+        public double doubleSum(String column) {
+            Integer i = schema.doubleIndex.get(column);
+            if (i == null) {
+                return sum(column);
+            }
+            double total = 0.0;
+            for (double v : doubleColumns[i]) {
+                total += v;
+            }
+            return total;
+        }
+    }
+
+    /**
+     * Column layout derived from the record components of {@link EavsData}.
+     */
+    private static final class Schema {
+
+        private final List<Method> stringAccessors = new ArrayList<>();
+        private final List<Method[]> intAccessors = new ArrayList<>();
+        private final List<Method[]> doubleAccessors = new ArrayList<>();
+        private final List<Method> groupAccessors = new ArrayList<>();
+        private final Map<String, Integer> stringIndex = new HashMap<>();
+        private final Map<String, Integer> intIndex = new HashMap<>();
+        private final Map<String, Integer> doubleIndex = new HashMap<>();
+        private final Map<String, Integer> groupIndex = new HashMap<>();
+        private Partition empty;
+
+        static Schema of(Class<? extends Record> rowType) {
+            Schema schema = new Schema();
+            for (RecordComponent c : rowType.getRecordComponents()) {
+                Class<?> type = c.getType();
+                if (type == String.class) {
+                    schema.stringIndex.put(c.getName(), schema.stringAccessors.size());
+                    schema.stringAccessors.add(c.getAccessor());
+                } else if (type == Integer.class) {
+                    schema.intIndex.put(c.getName(), schema.intAccessors.size());
+                    schema.intAccessors.add(new Method[] {c.getAccessor()});
+                } else if (type == Double.class) {
+                    schema.doubleIndex.put(c.getName(), schema.doubleAccessors.size());
+                    schema.doubleAccessors.add(new Method[] {c.getAccessor()});
+                } else if (type.isRecord()) {
+                    schema.groupIndex.put(c.getName(), schema.groupAccessors.size());
+                    schema.groupAccessors.add(c.getAccessor());
+                    for (RecordComponent nested : type.getRecordComponents()) {
+                        if (nested.getType() == Integer.class) {
+                            schema.intIndex.put(nested.getName(), schema.intAccessors.size());
+                            schema.intAccessors.add(new Method[] {c.getAccessor(), nested.getAccessor()});
+                        }
+                    }
+                }
+            }
+            schema.empty = schema.build(List.of());
+            return schema;
+        }
+
+        Partition empty() {
+            return empty;
+        }
+
+        int index(Map<String, Integer> columns, String column) {
+            Integer i = columns.get(column);
+            if (i == null) {
+                throw new IllegalArgumentException("Unknown EAVS column: " + column);
+            }
+            return i;
+        }
+
+        Partition build(List<? extends Record> rows) {
+            int size = rows.size();
+            String[][] strings = new String[stringAccessors.size()][size];
+            int[][] ints = new int[intAccessors.size()][size];
+            double[][] doubles = new double[doubleAccessors.size()][size];
+            BitSet[] intNulls = bitSets(intAccessors.size());
+            BitSet[] doubleNulls = bitSets(doubleAccessors.size());
+            BitSet[] groups = bitSets(groupAccessors.size());
+
+            for (int row = 0; row < size; row++) {
+                Record record = rows.get(row);
+                for (int c = 0; c < strings.length; c++) {
+                    strings[c][row] = (String) read(record, stringAccessors.get(c));
+                }
+                for (int c = 0; c < ints.length; c++) {
+                    Object v = read(record, intAccessors.get(c));
+                    if (v == null) {
+                        intNulls[c].set(row);
+                    } else {
+                        ints[c][row] = (Integer) v;
+                    }
+                }
+                for (int c = 0; c < doubles.length; c++) {
+                    Object v = read(record, doubleAccessors.get(c));
+                    if (v == null) {
+                        doubleNulls[c].set(row);
+                    } else {
+                        doubles[c][row] = (Double) v;
+                    }
+                }
+                for (int c = 0; c < groups.length; c++) {
+                    if (read(record, groupAccessors.get(c)) != null) {
+                        groups[c].set(row);
+                    }
+                }
+            }
+            return new Partition(this, size, strings, ints, doubles, intNulls, doubleNulls, groups);
+        }
+
+        private static BitSet[] bitSets(int n) {
+            BitSet[] sets = new BitSet[n];
+            for (int i = 0; i < n; i++) {
+                sets[i] = new BitSet();
+            }
+            return sets;
+        }
+
+        private static Object read(Object target, Method... path) {
+            Object value = target;
+            try {
+                for (Method accessor : path) {
+                    if (value == null) return null;
+                    value = accessor.invoke(value);
+                }
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Failed to read EAVS column", e);
+            }
+            return value;
+        }
+    }
+}
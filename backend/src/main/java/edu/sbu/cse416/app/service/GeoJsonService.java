@@ -1,23 +1,42 @@
 package edu.sbu.cse416.app.service;
 
+import edu.sbu.cse416.app.dto.geojson.CountyMetricsResponse;
 import edu.sbu.cse416.app.model.CvapData;
 import edu.sbu.cse416.app.model.eavs.EavsData;
 import edu.sbu.cse416.app.model.geojson.CountyGeoJson;
+import edu.sbu.cse416.app.model.geojson.PackedCoordinates;
 import edu.sbu.cse416.app.model.geojson.StateGeoJson;
 import edu.sbu.cse416.app.repository.CountyGeoJsonRepository;
 import edu.sbu.cse416.app.repository.CvapDataRepository;
 import edu.sbu.cse416.app.repository.EavsDataRepository;
 import edu.sbu.cse416.app.repository.StateGeoJsonRepository;
 import edu.sbu.cse416.app.util.FipsUtil;
+import edu.sbu.cse416.app.util.GeometryDetail;
+import edu.sbu.cse416.app.util.GeometryUtil;
+import edu.sbu.cse416.app.util.TopoJsonEncoder;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
 @Service
 public class GeoJsonService {
 
+    private static final int CURRENT_ELECTION_YEAR = 2024;
+
+    private static final List<String> COUNTY_METRIC_LABELS = List.of(
+            "provisionalBallotsPct",
+            "activeVotersPct",
+            "pollbookDeletionsPct",
+            "mailBallotsRejectedPct",
+            "voterRegistrationPct");
+
     private final CountyGeoJsonRepository countyGeoJsonRepository;
     private final StateGeoJsonRepository stateGeoJsonRepository;
     private final EavsDataRepository eavsDataRepository;
@@ -35,18 +54,91 @@ public class GeoJsonService {
     }
 
     /**
-     * Get all counties for a specific state with choropleth metrics.
+     * Get all counties for a specific state with choropleth metrics, with geometry
+     * simplified to the requested level of detail.
      */
-    @Cacheable(value = "countiesByState", key = "#fipsPrefix")
-    public List<CountyGeoJson> getCountiesByState(String fipsPrefix) {
+    @Cacheable(value = "countiesByState", key = "#fipsPrefix + ':' + #detail", sync = true)
+    public List<CountyGeoJson> getCountiesByState(String fipsPrefix, GeometryDetail detail) {
         List<CountyGeoJson> counties = countyGeoJsonRepository.findByFipsCode(fipsPrefix);
+        return simplifyCounties(withCountyMetrics(fipsPrefix, counties), detail);
+    }
+
+    /**
+     * Stream every county of a state with its choropleth metrics, one at a time
+     * from a Mongo cursor. Only the current county is held in memory, so this
+     * suits writing large responses as they are read. Geometry is full resolution.
+     */
+    public void streamCountiesByState(String fipsPrefix, Consumer<CountyGeoJson> sink) {
+        CountyMetricSources sources = countyMetricSources(fipsPrefix);
+        try (Stream<CountyGeoJson> counties = countyGeoJsonRepository.streamByFipsCode(fipsPrefix)) {
+            counties.forEach(county -> sink.accept(withCountyMetrics(county, sources)));
+        }
+    }
+
+    /**
+     * Get county geometry for a state without metrics. Geometry only changes on
+     * reload, so clients can cache it long-term and refresh metrics separately.
+     */
+    @Cacheable(value = "countyGeometry", key = "#fipsPrefix + ':' + #detail", sync = true)
+    public List<CountyGeoJson> getCountyGeometry(String fipsPrefix, GeometryDetail detail) {
+        List<CountyGeoJson> counties = countyGeoJsonRepository.findByFipsCode(fipsPrefix).stream()
+                .map(county -> new CountyGeoJson(
+                        county.id(),
+                        county.type(),
+                        new CountyGeoJson.Properties(
+                                county.properties().geoid(),
+                                county.properties().stateName(),
+                                county.properties().countyName(),
+                                null,
+                                null,
+                                null,
+                                null,
+                                null),
+                        county.geometry()))
+                .toList();
+        return simplifyCounties(counties, detail);
+    }
+
+    /**
+     * Get just the choropleth metrics for every county in a state, keyed by geoid.
+     */
+    @Cacheable(value = "countyMetrics", key = "#fipsPrefix", sync = true)
+    public CountyMetricsResponse getCountyMetrics(String fipsPrefix) {
+        List<CountyGeoJson> counties = countyGeoJsonRepository.findPropertiesByFipsCode(fipsPrefix);
 
+        Map<String, List<Double>> metrics = new LinkedHashMap<>();
+        for (CountyGeoJson county : withCountyMetrics(fipsPrefix, counties)) {
+            CountyGeoJson.Properties p = county.properties();
+            metrics.put(
+                    p.geoid(),
+                    Arrays.asList(
+                            p.provisionalBallotsPct(),
+                            p.activeVotersPct(),
+                            p.pollbookDeletionsPct(),
+                            p.mailBallotsRejectedPct(),
+                            p.voterRegistrationPct()));
+        }
+        return new CountyMetricsResponse(COUNTY_METRIC_LABELS, metrics);
+    }
+
+    /**
+     * Fill in choropleth metrics for counties of a state from EAVS and CVAP data.
+     */
+    private List<CountyGeoJson> withCountyMetrics(String fipsPrefix, List<CountyGeoJson> counties) {
+        CountyMetricSources sources = countyMetricSources(fipsPrefix);
+        return counties.stream().map(county -> withCountyMetrics(county, sources)).toList();
+    }
+
+    /**
+     * Load the EAVS and CVAP rows of a state, keyed by county FIPS.
+     */
+    private CountyMetricSources countyMetricSources(String fipsPrefix) {
         // Fetch EAVS data for this state
         String prefix = (fipsPrefix == null ? "" : fipsPrefix.trim());
         String stateAbbr = FipsUtil.getStateAbbr(prefix);
         List<EavsData> eavsData;
         if (stateAbbr != null) {
-            eavsData = eavsDataRepository.findByStateAbbr(stateAbbr);
+            eavsData = eavsDataRepository.findChoroplethByStateAbbr(stateAbbr);
         } else {
             eavsData = List.of();
         }
@@ -61,100 +153,167 @@ public class GeoJsonService {
             }
         }
 
-        return counties.stream()
-                .map(county -> {
-                    String fips = county.properties().geoid();
-                    EavsData eavs = eavsMap.get(fips);
-
-                    if (eavs == null) {
-                        // No EAVS data, return county with null metrics
-                        return new CountyGeoJson(
-                                county.id(),
-                                county.type(),
-                                new CountyGeoJson.Properties(
-                                        county.properties().geoid(),
-                                        county.properties().stateName(),
-                                        county.properties().countyName(),
-                                        null,
-                                        null,
-                                        null,
-                                        null,
-                                        null),
-                                county.geometry());
-                    }
-
-                    // Calculate choropleth metrics
-                    Double provPct = null;
-                    if (eavs.totalBallots() != null
-                            && eavs.totalBallots() > 0
-                            && eavs.provisionalBallots() != null
-                            && eavs.provisionalBallots().totalProv() != null) {
-                        provPct = (eavs.provisionalBallots().totalProv() / (double) eavs.totalBallots()) * 100;
-                    }
-
-                    Double activePct = null;
-                    if (eavs.voterRegistration() != null
-                            && eavs.voterRegistration().totalActive() != null
-                            && eavs.voterRegistration().totalActive() > 0
-                            && eavs.voterRegistration().totalRegistered() != null) {
-                        activePct = (eavs.voterRegistration().totalActive()
-                                        / (double) eavs.voterRegistration().totalRegistered())
-                                * 100;
-                    }
-
-                    Double pollbookPct = null;
-                    if (eavs.voterRegistration() != null
-                            && eavs.voterRegistration().totalActive() != null
-                            && eavs.voterRegistration().totalActive() > 0
-                            && eavs.voterDeletion() != null
-                            && eavs.voterDeletion().removedTotal() != null) {
-                        pollbookPct = (eavs.voterDeletion().removedTotal()
-                                        / (double) eavs.voterRegistration().totalActive())
-                                * 100;
-                    }
-
-                    Double mailRejectedPct = null;
-                    if (eavs.mailCountedTotal() != null
-                            && eavs.mailCountedTotal() > 0
-                            && eavs.totalRejectedBallots() != null) {
-                        mailRejectedPct = (eavs.totalRejectedBallots() / (double) eavs.mailCountedTotal()) * 100;
-                    }
-
-                    Double voterRegPct = null;
-                    if (eavs.voterRegistration() != null
-                            && eavs.voterRegistration().totalActive() != null) {
-                        CvapData cvapData = cvapDataRepository.findByGeoid(fips);
-                        if (cvapData != null
-                                && cvapData.totalCvapEstimate() != null
-                                && cvapData.totalCvapEstimate() > 0) {
-                            voterRegPct =
-                                    (eavs.voterRegistration().totalActive() * 100.0) / cvapData.totalCvapEstimate();
-                        }
-                    }
-
-                    return new CountyGeoJson(
-                            county.id(),
-                            county.type(),
-                            new CountyGeoJson.Properties(
-                                    county.properties().geoid(),
-                                    county.properties().stateName(),
-                                    county.properties().countyName(),
-                                    provPct,
-                                    activePct,
-                                    pollbookPct,
-                                    mailRejectedPct,
-                                    voterRegPct),
-                            county.geometry());
-                })
-                .toList();
+        // Fetch CVAP for the whole state in one query, keyed by county geoid
+        Map<String, CvapData> cvapMap = new HashMap<>();
+        if (stateAbbr != null) {
+            for (CvapData cvap : cvapDataRepository.findByGeoidStartingWith(prefix)) {
+                cvapMap.put(cvap.geoid(), cvap);
+            }
+        }
+
+        return new CountyMetricSources(eavsMap, cvapMap);
     }
 
     /**
-     * Get all state geoJSON data with equipment age metrics.
+     * Compute the choropleth metrics of one county.
      */
-    @Cacheable(value = "states")
-    public List<StateGeoJson> getAllStates() {
-        List<StateGeoJson> states = stateGeoJsonRepository.findAll();
+    private static CountyGeoJson withCountyMetrics(CountyGeoJson county, CountyMetricSources sources) {
+        String fips = county.properties().geoid();
+        EavsData eavs = sources.eavs().get(fips);
+
+        if (eavs == null) {
+            // No EAVS data, return county with null metrics
+            return new CountyGeoJson(
+                    county.id(),
+                    county.type(),
+                    new CountyGeoJson.Properties(
+                            county.properties().geoid(),
+                            county.properties().stateName(),
+                            county.properties().countyName(),
+                            null,
+                            null,
+                            null,
+                            null,
+                            null),
+                    county.geometry());
+        }
+
+        // Calculate choropleth metrics
+        Double provPct = null;
+        if (eavs.totalBallots() != null
+                && eavs.totalBallots() > 0
+                && eavs.provisionalBallots() != null
+                && eavs.provisionalBallots().totalProv() != null) {
+            provPct = (eavs.provisionalBallots().totalProv() / (double) eavs.totalBallots()) * 100;
+        }
+
+        Double activePct = null;
+        if (eavs.voterRegistration() != null
+                && eavs.voterRegistration().totalActive() != null
+                && eavs.voterRegistration().totalActive() > 0
+                && eavs.voterRegistration().totalRegistered() != null) {
+            activePct = (eavs.voterRegistration().totalActive() / (double) eavs.voterRegistration().totalRegistered())
+                    * 100;
+        }
+
+        Double pollbookPct = null;
+        if (eavs.voterRegistration() != null
+                && eavs.voterRegistration().totalActive() != null
+                && eavs.voterRegistration().totalActive() > 0
+                && eavs.voterDeletion() != null
+                && eavs.voterDeletion().removedTotal() != null) {
+            pollbookPct = (eavs.voterDeletion().removedTotal() / (double) eavs.voterRegistration().totalActive()) * 100;
+        }
+
+        Double mailRejectedPct = null;
+        if (eavs.mailCountedTotal() != null && eavs.mailCountedTotal() > 0 && eavs.totalRejectedBallots() != null) {
+            mailRejectedPct = (eavs.totalRejectedBallots() / (double) eavs.mailCountedTotal()) * 100;
+        }
+
+        Double voterRegPct = null;
+        if (eavs.voterRegistration() != null && eavs.voterRegistration().totalActive() != null) {
+            CvapData cvapData = sources.cvap().get(fips);
+            if (cvapData != null && cvapData.totalCvapEstimate() != null && cvapData.totalCvapEstimate() > 0) {
+                voterRegPct = (eavs.voterRegistration().totalActive() * 100.0) / cvapData.totalCvapEstimate();
+            }
+        }
+
+        return new CountyGeoJson(
+                county.id(),
+                county.type(),
+                new CountyGeoJson.Properties(
+                        county.properties().geoid(),
+                        county.properties().stateName(),
+                        county.properties().countyName(),
+                        provPct,
+                        activePct,
+                        pollbookPct,
+                        mailRejectedPct,
+                        voterRegPct),
+                county.geometry());
+    }
+
+    /**
+     * Get all state geoJSON data with equipment age metrics, with geometry
+     * simplified to the requested level of detail.
+     */
+    @Cacheable(value = "states", key = "#detail", sync = true)
+    public List<StateGeoJson> getAllStates(GeometryDetail detail) {
+        return simplifyStates(withStateMetrics(stateGeoJsonRepository.findAll()), detail);
+    }
+
+    /**
+     * Get counties for a state with choropleth metrics as quantized TopoJSON.
+     * Shared county borders are stored once as arcs.
+     */
+    public Map<String, Object> getCountiesTopoJson(String fipsPrefix, GeometryDetail detail) {
+        List<CountyGeoJson> counties =
+                withCountyMetrics(fipsPrefix, countyGeoJsonRepository.findByFipsCode(fipsPrefix));
+
+        List<String> ids = new ArrayList<>(counties.size());
+        List<String> types = new ArrayList<>(counties.size());
+        List<PackedCoordinates> coordinates = new ArrayList<>(counties.size());
+        List<Object> properties = new ArrayList<>(counties.size());
+        for (CountyGeoJson county : counties) {
+            ids.add(county.properties().geoid());
+            types.add(county.geometry() == null ? null : county.geometry().type());
+            coordinates.add(county.geometry() == null ? null : county.geometry().coordinates());
+            properties.add(county.properties());
+        }
+        return TopoJsonEncoder.encode(
+                "counties",
+                ids,
+                types,
+                coordinates,
+                properties,
+                detail.tolerance(),
+                TopoJsonEncoder.DEFAULT_QUANTIZATION);
+    }
+
+    /**
+     * Get all states with equipment age metrics as quantized TopoJSON.
+     */
+    public Map<String, Object> getStatesTopoJson(GeometryDetail detail) {
+        List<StateGeoJson> states = withStateMetrics(stateGeoJsonRepository.findAll());
+
+        List<String> ids = new ArrayList<>(states.size());
+        List<String> types = new ArrayList<>(states.size());
+        List<PackedCoordinates> coordinates = new ArrayList<>(states.size());
+        List<Object> properties = new ArrayList<>(states.size());
+        for (StateGeoJson state : states) {
+            ids.add(state.properties().stateFips());
+            types.add(state.geometry() == null ? null : state.geometry().type());
+            coordinates.add(state.geometry() == null ? null : state.geometry().coordinates());
+            properties.add(state.properties());
+        }
+        return TopoJsonEncoder.encode(
+                "states",
+                ids,
+                types,
+                coordinates,
+                properties,
+                detail.tolerance(),
+                TopoJsonEncoder.DEFAULT_QUANTIZATION);
+    }
+
+    /**
+     * Fill in equipment age and data quality for every state.
+     */
+    private List<StateGeoJson> withStateMetrics(List<StateGeoJson> states) {
+
+        // Average data quality for every state in one aggregation
+        Map<String, Double> dataQualityByState =
+                eavsDataRepository.averageFieldByState(CURRENT_ELECTION_YEAR, "dataQualityScore");
 
         // Hardcoded equipment age map
         Map<String, Double> equipmentAgeMap = new HashMap<>();
@@ -223,26 +382,76 @@ public class GeoJsonService {
                                     state.properties().stateFips(),
                                     state.properties().stateAbbr(),
                                     equipmentAge,
-                                    calculateStateDataQuality(state.properties().stateFips())),
+                                    stateDataQuality(dataQualityByState, state.properties().stateFips())),
                             state.geometry());
                 })
                 .toList();
     }
 
-    private Double calculateStateDataQuality(String stateFips) {
+    /**
+     * Simplify county geometry as one topology so neighboring counties keep
+     * sharing the same border vertices.
+     */
+    private static List<CountyGeoJson> simplifyCounties(List<CountyGeoJson> counties, GeometryDetail detail) {
+        if (detail == null || detail == GeometryDetail.FULL) return counties;
+
+        List<String> types = new ArrayList<>(counties.size());
+        List<PackedCoordinates> coordinates = new ArrayList<>(counties.size());
+        for (CountyGeoJson county : counties) {
+            types.add(county.geometry() == null ? null : county.geometry().type());
+            coordinates.add(county.geometry() == null ? null : county.geometry().coordinates());
+        }
+        List<PackedCoordinates> simplified = GeometryUtil.simplify(types, coordinates, detail.tolerance());
+
+        List<CountyGeoJson> result = new ArrayList<>(counties.size());
+        for (int i = 0; i < counties.size(); i++) {
+            CountyGeoJson county = counties.get(i);
+            result.add(new CountyGeoJson(
+                    county.id(),
+                    county.type(),
+                    county.properties(),
+                    county.geometry() == null
+                            ? null
+                            : new CountyGeoJson.Geometry(types.get(i), simplified.get(i))));
+        }
+        return result;
+    }
+
+    /**
+     * Simplify state geometry as one topology so neighboring states keep sharing
+     * the same border vertices.
+     */
+    private static List<StateGeoJson> simplifyStates(List<StateGeoJson> states, GeometryDetail detail) {
+        if (detail == null || detail == GeometryDetail.FULL) return states;
+
+        List<String> types = new ArrayList<>(states.size());
+        List<PackedCoordinates> coordinates = new ArrayList<>(states.size());
+        for (StateGeoJson state : states) {
+            types.add(state.geometry() == null ? null : state.geometry().type());
+            coordinates.add(state.geometry() == null ? null : state.geometry().coordinates());
+        }
+        List<PackedCoordinates> simplified = GeometryUtil.simplify(types, coordinates, detail.tolerance());
+
+        List<StateGeoJson> result = new ArrayList<>(states.size());
+        for (int i = 0; i < states.size(); i++) {
+            StateGeoJson state = states.get(i);
+            result.add(new StateGeoJson(
+                    state.id(),
+                    state.type(),
+                    state.properties(),
+                    state.geometry() == null
+                            ? null
+                            : new StateGeoJson.Geometry(types.get(i), simplified.get(i))));
+        }
+        return result;
+    }
+
+    private record CountyMetricSources(Map<String, EavsData> eavs, Map<String, CvapData> cvap) {}
+
+    private static Double stateDataQuality(Map<String, Double> dataQualityByState, String stateFips) {
         if (stateFips == null) return 0.0;
 
         String stateAbbr = FipsUtil.getStateAbbr(stateFips);
-        List<EavsData> data = eavsDataRepository.findByStateAbbr(stateAbbr);
-
-        double totalScore = 0.0;
-        int count = 0;
-        for (EavsData d : data) {
-            if (d.dataQualityScore() != null) {
-                totalScore += d.dataQualityScore();
-                count++;
-            }
-        }
-        return count > 0 ? totalScore / count : 0.0;
+        return stateAbbr == null ? 0.0 : dataQualityByState.getOrDefault(stateAbbr, 0.0);
     }
 }
@@ -0,0 +1,63 @@
+package edu.sbu.cse416.app.service;
+
+import edu.sbu.cse416.app.dto.geojson.GeoJsonResponse;
+import edu.sbu.cse416.app.util.GeometryDetail;
+import org.springframework.stereotype.Service;
+
+/**
+ * GeoJSON and TopoJSON endpoint bodies as {@link SerializedResponseCache}
+ * entries, so the controller and {@link CacheWarmupService} fill the same
+ * entry for a response.
+ */
+@Service
+public class SerializedGeoJsonService {
+
+    private final GeoJsonService geoJsonService;
+    private final SerializedResponseCache responseCache;
+
+    public SerializedGeoJsonService(GeoJsonService geoJsonService, SerializedResponseCache responseCache) {
+        this.geoJsonService = geoJsonService;
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * Counties of a state with choropleth metrics, as a FeatureCollection.
+     */
+    public SerializedResponseCache.Entry getCountiesByState(String fipsPrefix, GeometryDetail detail) {
+        return responseCache.get(
+                "counties:" + fipsPrefix + ":" + detail,
+                () -> GeoJsonResponse.of(geoJsonService.getCountiesByState(fipsPrefix, detail)));
+    }
+
+    /**
+     * Counties of a state with choropleth metrics, as a TopoJSON topology.
+     */
+    public SerializedResponseCache.Entry getCountiesTopoJson(String fipsPrefix, GeometryDetail detail) {
+        return responseCache.get(
+                "countiesTopo:" + fipsPrefix + ":" + detail,
+                () -> geoJsonService.getCountiesTopoJson(fipsPrefix, detail));
+    }
+
+    /**
+     * County geometry of a state without metrics, as a FeatureCollection.
+     */
+    public SerializedResponseCache.Entry getCountyGeometry(String fipsPrefix, GeometryDetail detail) {
+        return responseCache.get(
+                "countyGeometry:" + fipsPrefix + ":" + detail,
+                () -> GeoJsonResponse.of(geoJsonService.getCountyGeometry(fipsPrefix, detail)));
+    }
+
+    /**
+     * Every state with its metrics, as a FeatureCollection.
+     */
+    public SerializedResponseCache.Entry getAllStates(GeometryDetail detail) {
+        return responseCache.get("states:" + detail, () -> GeoJsonResponse.of(geoJsonService.getAllStates(detail)));
+    }
+
+    /**
+     * Every state with its metrics, as a TopoJSON topology.
+     */
+    public SerializedResponseCache.Entry getStatesTopoJson(GeometryDetail detail) {
+        return responseCache.get("statesTopo:" + detail, () -> geoJsonService.getStatesTopoJson(detail));
+    }
+}
@@ -0,0 +1,162 @@
+package edu.sbu.cse416.app.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.function.Supplier;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+/**
+ * Byte-level cache for large JSON responses. Each body is serialized once, and
+ * stored both as is and gzip-compressed, so cache hits skip Jackson and
+ * compression entirely and write the stored bytes straight out.
+ *
+ * <p>Entries are evicted by {@link CacheInvalidationService} when the data
+ * behind them changes. The cache is bounded by the bytes it holds rather than
+ * its entry count (see {@code app.cache.serialized-responses.spec}), since one
+ * state's GeoJSON runs to megabytes.
+ */
+@Service
+public class SerializedResponseCache {
+
+    public static final String CACHE_NAME = "serializedResponses";
+
+    private final Cache cache;
+    private final ObjectMapper objectMapper;
+
+    public SerializedResponseCache(CacheManager cacheManager, ObjectMapper objectMapper) {
+        this.cache = cacheManager.getCache(CACHE_NAME);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Get the serialized entry for a key, building it from {@code body} on a miss.
+     *
+     * @param key endpoint and parameters identifying the response
+     * @param body supplies the response object to serialize on a miss
+     */
+    public Entry get(String key, Supplier<?> body) {
+        return cache.get(key, () -> Entry.of(serialize(body.get())));
+    }
+
+    private byte[] serialize(Object body) {
+        try {
+            return objectMapper.writeValueAsBytes(body);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize cached response", e);
+        }
+    }
+
+    /**
+     * Serialized JSON with its gzip variant and a content hash for the ETag.
+     * {@code gzip} is null when compression does not make the body smaller.
+     */
+    public record Entry(String etag, byte[] identity, byte[] gzip) {
+
+        private static final String GZIP_ETAG_SUFFIX = "-gz";
+        // Record header, array headers and the ETag string, roughly
+        private static final int OVERHEAD_BYTES = 128;
+
+        static Entry of(byte[] json) {
+            byte[] gzip = gzip(json);
+            return new Entry(hash(json), json, gzip.length < json.length ? gzip : null);
+        }
+
+        /**
+         * Bytes held by the entry, for the cache's weight bound.
+         */
+        public int weight() {
+            return OVERHEAD_BYTES + identity.length + (gzip == null ? 0 : gzip.length);
+        }
+
+        /**
+         * Build a JSON response, picking the gzip variant when the client accepts it.
+         * The gzip variant is a different representation, so its ETag carries a
+         * {@code -gz} suffix and shared caches never serve one for the other.
+         */
+        public ResponseEntity<byte[]> toResponse(String acceptEncoding, CacheControl cacheControl) {
+            boolean useGzip = gzip != null && acceptsGzip(acceptEncoding);
+            ResponseEntity.BodyBuilder builder = ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .eTag(useGzip ? etag + GZIP_ETAG_SUFFIX : etag)
+                    .cacheControl(cacheControl)
+                    .header(HttpHeaders.VARY, HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+            if (useGzip) {
+                builder.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+            }
+            return builder.body(useGzip ? gzip : identity);
+        }
+
+        /**
+         * Whether an {@code Accept-Encoding} header allows gzip: listed with a
+         * nonzero q-value, or not listed and covered by a nonzero {@code *}.
+         */
+        static boolean acceptsGzip(String acceptEncoding) {
+            if (acceptEncoding == null) {
+                return false;
+            }
+            Double gzipQuality = null;
+            Double anyQuality = null;
+            for (String element : acceptEncoding.split(",")) {
+                String[] params = element.split(";");
+                String coding = params[0].trim().toLowerCase(Locale.ROOT);
+                double quality = 1.0;
+                for (int i = 1; i < params.length; i++) {
+                    String param = params[i].trim();
+                    if (param.regionMatches(true, 0, "q=", 0, 2)) {
+                        try {
+                            quality = Double.parseDouble(param.substring(2).trim());
+                        } catch (NumberFormatException e) {
+                            // A malformed weight is no consent
+                            quality = 0.0;
+                        }
+                    }
+                }
+                if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                    gzipQuality = quality;
+                } else if (coding.equals("*")) {
+                    anyQuality = quality;
+                }
+            }
+            return gzipQuality != null ? gzipQuality > 0 : anyQuality != null && anyQuality > 0;
+        }
+
+        private static byte[] gzip(byte[] json) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(json.length / 4);
+            // Compressed once per entry, so spend the CPU on the smallest output
+            try (GZIPOutputStream gz = new GZIPOutputStream(out) {
+                {
+                    def.setLevel(Deflater.BEST_COMPRESSION);
+                }
+            }) {
+                gz.write(json);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }
+
+        private static String hash(byte[] json) {
+            try {
+                byte[] digest = MessageDigest.getInstance("SHA-256").digest(json);
+                return HexFormat.of().formatHex(digest, 0, 16);
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException("SHA-256 not available", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package edu.sbu.cse416.app.service;
+
+import edu.sbu.cse416.app.model.geojson.CountyGeoJson;
+import edu.sbu.cse416.app.model.geojson.StateGeoJson;
+import edu.sbu.cse416.app.util.GeometryDetail;
+import edu.sbu.cse416.app.util.GeometryUtil;
+import edu.sbu.cse416.app.util.VectorTileEncoder;
+import java.lang.reflect.RecordComponent;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Builds Mapbox Vector Tiles for the county and state choropleth layers from the
+ * same simplified geometry and metrics that {@link GeoJsonService} serves.
+ */
+@Service
+public class TileService {
+
+    public static final String COUNTIES = "counties";
+    public static final String STATES = "states";
+
+    private static final int EXTENT = 4096;
+    private static final int BUFFER = 64;
+    private static final int MAX_ZOOM = 14;
+    // Below this zoom every county in the country would land in a handful of tiles
+    private static final int COUNTY_MIN_ZOOM = 4;
+
+    private final GeoJsonService geoJsonService;
+
+    // stateFips -> [minLon, minLat, maxLon, maxLat], computed on first county tile
+    private volatile Map<String, double[]> stateBounds;
+    // stateFips:detail -> geoid -> [minLon, minLat, maxLon, maxLat] of the geometry at that detail
+    private final Map<String, Map<String, double[]>> countyBounds = new ConcurrentHashMap<>();
+
+    public TileService(GeoJsonService geoJsonService) {
+        this.geoJsonService = geoJsonService;
+    }
+
+    /**
+     * Get one vector tile. Returns null for unknown layers and out-of-range tile
+     * coordinates.
+     */
+    @Cacheable(value = "vectorTiles", key = "#layer + '/' + #z + '/' + #x + '/' + #y", sync = true)
+    public byte[] getTile(String layer, int z, int x, int y) {
+        if (z < 0 || z > MAX_ZOOM || x < 0 || y < 0 || x >= (1 << z) || y >= (1 << z)) {
+            return null;
+        }
+
+        VectorTileEncoder encoder = new VectorTileEncoder(z, x, y, EXTENT, BUFFER);
+        GeometryDetail detail = GeometryDetail.of(z, null);
+
+        if (STATES.equals(layer)) {
+            double[] tileBounds = encoder.bounds();
+            Map<String, double[]> bounds = stateBounds();
+            for (StateGeoJson state : geoJsonService.getAllStates(detail)) {
+                if (state.geometry() == null) continue;
+                // Only states with no known bounds are projected without the cull
+                double[] box = bounds.get(state.properties().stateFips());
+                if (box != null && !intersects(box, tileBounds)) continue;
+                encoder.addPolygons(
+                        STATES,
+                        featureId(state.properties().stateFips()),
+                        properties(state.properties()),
+                        GeometryUtil.toPolygons(state.geometry().coordinates()));
+            }
+        } else if (COUNTIES.equals(layer)) {
+            if (z < COUNTY_MIN_ZOOM) {
+                return encoder.encode();
+            }
+            double[] tileBounds = encoder.bounds();
+            for (var state : stateBounds().entrySet()) {
+                if (!intersects(state.getValue(), tileBounds)) continue;
+
+                List<CountyGeoJson> counties = geoJsonService.getCountiesByState(state.getKey(), detail);
+                Map<String, double[]> bounds = countyBounds(state.getKey(), detail, counties);
+                for (CountyGeoJson county : counties) {
+                    if (county.geometry() == null) continue;
+                    // At high zooms a tile covers a few counties of the state, so skip the rest unprojected
+                    double[] box = bounds.get(county.properties().geoid());
+                    if (box != null && !intersects(box, tileBounds)) continue;
+                    encoder.addPolygons(
+                            COUNTIES,
+                            featureId(county.properties().geoid()),
+                            properties(county.properties()),
+                            GeometryUtil.toPolygons(county.geometry().coordinates()));
+                }
+            }
+        } else {
+            return null;
+        }
+
+        return encoder.encode();
+    }
+
+    /**
+     * Recompute state bounds after the state shapes are reloaded.
+     */
+    @EventListener(condition = "#event.collection() == 'states_geojson'")
+    public void onDatasetChanged(DatasetChangedEvent event) {
+        stateBounds = null;
+    }
+
+    /**
+     * Recompute county bounds after the county shapes are reloaded.
+     */
+    @EventListener(condition = "#event.collection() == 'counties_geojson'")
+    public void onCountiesChanged(DatasetChangedEvent event) {
+        countyBounds.clear();
+    }
+
+    /**
+     * Bounding boxes of every state, used to find which states' counties can
+     * reach a tile.
+     */
+    private Map<String, double[]> stateBounds() {
+        Map<String, double[]> bounds = stateBounds;
+        if (bounds == null) {
+            bounds = new HashMap<>();
+            for (StateGeoJson state : geoJsonService.getAllStates(GeometryDetail.FULL)) {
+                if (state.geometry() == null || state.properties().stateFips() == null) continue;
+                bounds.put(
+                        state.properties().stateFips(),
+                        boundingBox(GeometryUtil.toPolygons(state.geometry().coordinates())));
+            }
+            stateBounds = bounds;
+        }
+        return bounds;
+    }
+
+    /**
+     * Bounding boxes of a state's counties at one detail tier, keyed by geoid,
+     * used to find which counties reach a tile. Built from the same geometry
+     * that is encoded, so the cull never drops a county the tile would show.
+     */
+    private Map<String, double[]> countyBounds(String stateFips, GeometryDetail detail, List<CountyGeoJson> counties) {
+        String key = stateFips + ":" + detail;
+        Map<String, double[]> bounds = countyBounds.get(key);
+        if (bounds == null) {
+            bounds = new HashMap<>();
+            for (CountyGeoJson county : counties) {
+                if (county.geometry() == null || county.properties().geoid() == null) continue;
+                bounds.put(
+                        county.properties().geoid(),
+                        boundingBox(GeometryUtil.toPolygons(county.geometry().coordinates())));
+            }
+            countyBounds.put(key, bounds);
+        }
+        return bounds;
+    }
+
+    private static double[] boundingBox(List<List<double[]>> polygons) {
+        double[] box = {Double.MAX_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+        for (List<double[]> rings : polygons) {
+            for (double[] ring : rings) {
+                for (int i = 0; i + 1 < ring.length; i += 2) {
+                    box[0] = Math.min(box[0], ring[i]);
+                    box[1] = Math.min(box[1], ring[i + 1]);
+                    box[2] = Math.max(box[2], ring[i]);
+                    box[3] = Math.max(box[3], ring[i + 1]);
+                }
+            }
+        }
+        return box;
+    }
+
+    private static boolean intersects(double[] a, double[] b) {
+        return a[0] <= b[2] && b[0] <= a[2] && a[1] <= b[3] && b[1] <= a[3];
+    }
+
+    /**
+     * FIPS codes are numeric, so they double as MVT feature ids.
+     */
+    private static Long featureId(String fips) {
+        if (fips == null || fips.isEmpty() || !fips.chars().allMatch(Character::isDigit)) {
+            return null;
+        }
+        return Long.parseLong(fips);
+    }
+
+    /**
+     * Tile attributes from a properties record, by component name.
+     */
+    private static Map<String, Object> properties(Record properties) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (RecordComponent component : properties.getClass().getRecordComponents()) {
+            try {
+                result.put(component.getName(), component.getAccessor().invoke(properties));
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("Failed to read tile property " + component.getName(), e);
+            }
+        }
+        return result;
+    }
+}
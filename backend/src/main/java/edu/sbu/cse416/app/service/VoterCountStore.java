@@ -0,0 +1,105 @@
+package edu.sbu.cse416.app.service;
+
+import edu.sbu.cse416.app.model.registration.VoterPartyCount;
+import edu.sbu.cse416.app.repository.VoterRepository;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+
+/**
+ * In-memory table of listed Florida voters per county and party, so voter
+ * pages report their totals without a count query over {@code florida_voters}.
+ * The table is one aggregation over the collection, rebuilt when it changes.
+ */
+@Service
+public class VoterCountStore {
+
+    private static final Logger log = LoggerFactory.getLogger(VoterCountStore.class);
+
+    private final VoterRepository voterRepo;
+
+    // countyName -> party -> count, swapped atomically on reload
+    private volatile Map<String, Map<String, Long>> counts;
+
+    public VoterCountStore(VoterRepository voterRepo) {
+        this.voterRepo = voterRepo;
+    }
+
+    /**
+     * Load the table once the application is up. A failure here is not fatal;
+     * the first lookup retries the load.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Could not load Florida voter counts at startup, will retry on first lookup", e);
+        }
+    }
+
+    /**
+     * Reload after an ingest of {@code florida_voters}. Until the reload
+     * finishes, lookups read the previous counts.
+     */
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    @EventListener(condition = "#event.collection() == 'florida_voters'")
+    public void onDatasetChanged(DatasetChangedEvent event) {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Could not reload Florida voter counts after dataset change", e);
+        }
+    }
+
+    /**
+     * Recount every county and party and swap the table in.
+     */
+    public synchronized void reload() {
+        long start = System.nanoTime();
+        List<VoterPartyCount> rows = voterRepo.countByCountyAndParty();
+
+        Map<String, Map<String, Long>> built = new HashMap<>();
+        for (VoterPartyCount row : rows) {
+            if (row.countyName() == null || row.party() == null) continue;
+            built.computeIfAbsent(row.countyName(), k -> new HashMap<>()).put(row.party(), row.count());
+        }
+        built.replaceAll((county, parties) -> Map.copyOf(parties));
+        counts = Map.copyOf(built);
+
+        log.info(
+                "Loaded Florida voter counts for {} counties in {} ms",
+                built.size(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Number of listed voters in a county across the given parties. Unknown
+     * counties and parties count as 0.
+     */
+    public long count(String countyName, Collection<String> parties) {
+        Map<String, Map<String, Long>> current = counts;
+        if (current == null) {
+            synchronized (this) {
+                if (counts == null) {
+                    reload();
+                }
+                current = counts;
+            }
+        }
+        Map<String, Long> byParty = current.getOrDefault(countyName, Map.of());
+        long total = 0L;
+        for (String party : parties) {
+            total += byParty.getOrDefault(party, 0L);
+        }
+        return total;
+    }
+}
@@ -39,7 +39,7 @@ import edu.sbu.cse416.app.model.EquipmentData;
 import edu.sbu.cse416.app.model.FelonyVoting;
 import edu.sbu.cse416.app.model.GinglesChartData;
 import edu.sbu.cse416.app.model.eavs.*;
-import edu.sbu.cse416.app.model.registration.Voter;
+import edu.sbu.cse416.app.model.registration.VoterListing;
 import edu.sbu.cse416.app.repository.CountyVoteSplitRepository;
 import edu.sbu.cse416.app.repository.CvapDataRepository;
 import edu.sbu.cse416.app.repository.EavsDataRepository;
@@ -50,13 +50,30 @@ import edu.sbu.cse416.app.repository.StateVoterRegistrationRepository;
 import edu.sbu.cse416.app.repository.VoterRepository;
 import edu.sbu.cse416.app.util.FipsUtil;
 import edu.sbu.cse416.app.util.RecordAggregator;
+import edu.sbu.cse416.app.util.RecordAggregator.ColumnSums;
+import edu.sbu.cse416.app.util.ScrollCursor;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
-import org.springframework.data.domain.Page;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Range;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 
 @Service
@@ -75,6 +92,12 @@ public class VoterDataService {
     private static final String CALAVERAS_COUNTY_OLD = "600900000";
     private static final String CALAVERAS_COUNTY_NEW = "0600900000";
 
+    // Florida voter listing, in index order for keyset pages
+    private static final List<String> FLORIDA_VOTER_LABELS = List.of("Name", "Party");
+    private static final Sort FLORIDA_VOTER_ORDER = Sort.by("party", "sortName");
+    private static final Sort FLORIDA_VOTER_SEARCH_ORDER = Sort.by("sortName", "_id");
+    private static final int MAX_FLORIDA_VOTER_SEARCH_RESULTS = 50;
+
     private final EavsDataRepository repo;
     private final StateVoterRegistrationRepository voterRegRepo;
     private final CvapDataRepository cvapRepo;
@@ -83,6 +106,9 @@ public class VoterDataService {
     private final CountyVoteSplitRepository countyVoteSplitRepo;
     private final GinglesChartDataRepository ginglesChartDataRepo;
     private final EquipmentDataRepository equipmentDataRepo;
+    private final EavsColumnStore columnStore;
+    private final VoterCountStore voterCounts;
+    private final boolean pipelineCharts;
 
     public VoterDataService(
             EavsDataRepository repo,
@@ -92,7 +118,10 @@ public class VoterDataService {
             VoterRepository voterRepo,
             CountyVoteSplitRepository countyVoteSplitRepo,
             GinglesChartDataRepository ginglesChartDataRepo,
-            EquipmentDataRepository equipmentDataRepo) {
+            EquipmentDataRepository equipmentDataRepo,
+            EavsColumnStore columnStore,
+            VoterCountStore voterCounts,
+            @Value("${app.eavs.chart-aggregation:memory}") String chartAggregation) {
         this.repo = repo;
         this.voterRegRepo = voterRegRepo;
         this.cvapRepo = cvapRepo;
@@ -101,6 +130,9 @@ public class VoterDataService {
         this.countyVoteSplitRepo = countyVoteSplitRepo;
         this.ginglesChartDataRepo = ginglesChartDataRepo;
         this.equipmentDataRepo = equipmentDataRepo;
+        this.columnStore = columnStore;
+        this.voterCounts = voterCounts;
+        this.pipelineCharts = "pipeline".equalsIgnoreCase(chartAggregation);
     }
 
     /**
@@ -126,44 +158,85 @@ public class VoterDataService {
 
     /**
      * Helper to fetch EAVS data by FIPS prefix.
-     * Converts FIPS prefix to state abbreviation and queries by state.
+     * Converts FIPS prefix to state abbreviation and runs the given (projected) query by state.
      */
-    private List<EavsData> fetchEavsData(String fipsPrefix) {
+    private List<EavsData> fetchEavsData(String fipsPrefix, Function<String, List<EavsData>> query) {
         String prefix = (fipsPrefix == null ? "" : fipsPrefix.trim());
         String stateAbbr = FipsUtil.getStateAbbr(prefix);
         if (stateAbbr != null) {
-            return repo.findByStateAbbr(stateAbbr);
+            return query.apply(stateAbbr);
         }
         return List.of();
     }
 
-    @Cacheable(value = "provisionalTable", key = "#fipsPrefix")
-    public ProvisionalTableResponse getProvisionalTable(String fipsPrefix) {
-        List<EavsData> data = fetchEavsData(fipsPrefix);
-        List<ProvisionalTableResponse.Data> tableData = data.stream()
-                .map(record -> {
-                    ProvisionalBallots p = record.provisionalBallots();
-                    return new ProvisionalTableResponse.Data(
-                            cleanJurisdictionName(record.jurisdictionName()),
-                            nz(p == null ? null : p.totalProv()),
-                            nz(p == null ? null : p.provCountFullyCounted()),
-                            nz(p == null ? null : p.provCountPartialCounted()),
-                            nz(p == null ? null : p.provRejected()),
-                            nz(p == null ? null : p.provisionalOtherStatus()));
-                })
+    /**
+     * Helper to fetch the in-memory EAVS columns for the current election year by
+     * FIPS prefix.
+     */
+    private EavsColumnStore.Partition fetchEavsColumns(String fipsPrefix) {
+        String prefix = (fipsPrefix == null ? "" : fipsPrefix.trim());
+        return columnStore.partition(FipsUtil.getStateAbbr(prefix), CURRENT_ELECTION_YEAR);
+    }
+
+    /**
+     * Helper to fetch the summed columns behind a chart for the current election
+     * year by FIPS prefix. Sums come from the in-memory store, or from a Mongo
+     * aggregation pipeline over the given nested record in pipeline mode.
+     */
+    private ColumnSums fetchChartSums(
+            String fipsPrefix, String group, Class<? extends Record> responseClass) {
+        if (!pipelineCharts) {
+            return fetchEavsColumns(fipsPrefix);
+        }
+        String prefix = (fipsPrefix == null ? "" : fipsPrefix.trim());
+        String stateAbbr = FipsUtil.getStateAbbr(prefix);
+        if (stateAbbr == null) {
+            return column -> 0L;
+        }
+        Map<String, Long> sums = repo.sumFields(stateAbbr, CURRENT_ELECTION_YEAR, group, integerFields(responseClass));
+        return column -> sums.getOrDefault(column, 0L);
+    }
+
+    /**
+     * Names of the Integer components of a response record.
+     */
+    private static List<String> integerFields(Class<? extends Record> responseClass) {
+        return Arrays.stream(responseClass.getRecordComponents())
+                .filter(component -> component.getType() == Integer.class)
+                .map(RecordComponent::getName)
                 .toList();
+    }
+
+    @Cacheable(value = "provisionalTable", key = "#fipsPrefix", sync = true)
+    public ProvisionalTableResponse getProvisionalTable(String fipsPrefix) {
+        EavsColumnStore.Partition data = fetchEavsColumns(fipsPrefix);
+        int[] totalProv = data.ints("totalProv");
+        int[] fullyCounted = data.ints("provCountFullyCounted");
+        int[] partialCounted = data.ints("provCountPartialCounted");
+        int[] rejected = data.ints("provRejected");
+        int[] otherStatus = data.ints("provisionalOtherStatus");
+
+        List<ProvisionalTableResponse.Data> tableData = new ArrayList<>(data.size());
+        for (int row = 0; row < data.size(); row++) {
+            tableData.add(new ProvisionalTableResponse.Data(
+                    cleanJurisdictionName(data.jurisdictionName(row)),
+                    totalProv[row],
+                    fullyCounted[row],
+                    partialCounted[row],
+                    rejected[row],
+                    otherStatus[row]));
+        }
         return new ProvisionalTableResponse(tableData, ProvisionalTableResponse.getDefaultMetricLabels());
     }
 
     /**
      * Get provisional ballot chart data aggregated by reason for a FIPS prefix.
      */
-    @Cacheable(value = "provisionalChart", key = "#fipsPrefix")
+    @Cacheable(value = "provisionalChart", key = "#fipsPrefix", sync = true)
     public ProvisionalChartResponse getProvisionalChart(String fipsPrefix) {
-        List<EavsData> data = fetchEavsData(fipsPrefix);
+        ColumnSums sums = fetchChartSums(fipsPrefix, "provisionalBallots", ProvisionalChartResponse.class);
 
-        ProvisionalChartResponse response =
-                RecordAggregator.aggregate(data, EavsData::provisionalBallots, ProvisionalChartResponse.class);
+        ProvisionalChartResponse response = RecordAggregator.aggregate(sums, ProvisionalChartResponse.class);
 
         return new ProvisionalChartResponse(
                 response.provReasonVoterNotOnList(),
@@ -182,31 +255,32 @@ public class VoterDataService {
     /**
      * Get active voters table data for a FIPS prefix.
      */
-    @Cacheable(value = "activeVotersTable", key = "#fipsPrefix")
+    @Cacheable(value = "activeVotersTable", key = "#fipsPrefix", sync = true)
     public ActiveVotersTableResponse getActiveVotersTable(String fipsPrefix) {
-        List<EavsData> data = fetchEavsData(fipsPrefix);
-        List<ActiveVotersTableResponse.Data> tableData = data.stream()
-                .map(record -> {
-                    VoterRegistration vr = record.voterRegistration();
-                    return new ActiveVotersTableResponse.Data(
-                            cleanJurisdictionName(record.jurisdictionName()),
-                            nz(vr == null ? null : vr.totalRegistered()),
-                            nz(vr == null ? null : vr.totalActive()),
-                            nz(vr == null ? null : vr.totalInactive()));
-                })
-                .toList();
+        EavsColumnStore.Partition data = fetchEavsColumns(fipsPrefix);
+        int[] totalRegistered = data.ints("totalRegistered");
+        int[] totalActive = data.ints("totalActive");
+        int[] totalInactive = data.ints("totalInactive");
+
+        List<ActiveVotersTableResponse.Data> tableData = new ArrayList<>(data.size());
+        for (int row = 0; row < data.size(); row++) {
+            tableData.add(new ActiveVotersTableResponse.Data(
+                    cleanJurisdictionName(data.jurisdictionName(row)),
+                    totalRegistered[row],
+                    totalActive[row],
+                    totalInactive[row]));
+        }
         return new ActiveVotersTableResponse(tableData, ActiveVotersTableResponse.getDefaultMetricLabels());
     }
 
     /**
      * Get active voters chart data aggregated for a FIPS prefix.
      */
-    @Cacheable(value = "activeVotersChart", key = "#fipsPrefix")
+    @Cacheable(value = "activeVotersChart", key = "#fipsPrefix", sync = true)
     public ActiveVotersChartResponse getActiveVotersChart(String fipsPrefix) {
-        List<EavsData> data = fetchEavsData(fipsPrefix);
+        ColumnSums sums = fetchChartSums(fipsPrefix, "voterRegistration", ActiveVotersChartResponse.class);
 
-        ActiveVotersChartResponse response =
-                RecordAggregator.aggregate(data, EavsData::voterRegistration, ActiveVotersChartResponse.class);
+        ActiveVotersChartResponse response = RecordAggregator.aggregate(sums, ActiveVotersChartResponse.class);
 
         return new ActiveVotersChartResponse(
                 response.totalRegistered(),
@@ -218,12 +292,12 @@ public class VoterDataService {
     /**
      * Get pollbook deletions chart data aggregated for a FIPS prefix.
      */
-    @Cacheable(value = "pollbookDeletionsChart", key = "#fipsPrefix")
+    @Cacheable(value = "pollbookDeletionsChart", key = "#fipsPrefix", sync = true)
     public PollbookDeletionsChartResponse getPollbookDeletionsChart(String fipsPrefix) {
-        List<EavsData> data = fetchEavsData(fipsPrefix);
+        ColumnSums sums = fetchChartSums(fipsPrefix, "voterDeletion", PollbookDeletionsChartResponse.class);
 
         PollbookDeletionsChartResponse response =
-                RecordAggregator.aggregate(data, EavsData::voterDeletion, PollbookDeletionsChartResponse.class);
+                RecordAggregator.aggregate(sums, PollbookDeletionsChartResponse.class);
 
         return new PollbookDeletionsChartResponse(
                 response.removedMoved(),
@@ -239,32 +313,47 @@ public class VoterDataService {
     /**
      * Get mail ballots rejected table data for a FIPS prefix.
      */
-    @Cacheable(value = "mailBallotsRejectedTable", key = "#fipsPrefix")
+    @Cacheable(value = "mailBallotsRejectedTable", key = "#fipsPrefix", sync = true)
     public MailBallotsRejectedTableResponse getMailBallotsRejectedTable(String fipsPrefix) {
-        List<EavsData> data = fetchEavsData(fipsPrefix);
-        List<MailBallotsRejectedTableResponse.Data> tableData = data.stream()
-                .map(record -> {
-                    MailBallotsRejectedReason mbr = record.mailBallotsRejectedReason();
-                    return new MailBallotsRejectedTableResponse.Data(
-                            cleanJurisdictionName(record.jurisdictionName()),
-                            nz(mbr == null ? null : mbr.late()),
-                            nz(mbr == null ? null : mbr.missingVoterSignature()),
-                            nz(mbr == null ? null : mbr.missingWitnessSignature()),
-                            nz(mbr == null ? null : mbr.nonMatchingVoterSignature()),
-                            nz(mbr == null ? null : mbr.unofficialEnvelope()),
-                            nz(mbr == null ? null : mbr.ballotMissingFromEnvelope()),
-                            nz(mbr == null ? null : mbr.noSecrecyEnvelope()),
-                            nz(mbr == null ? null : mbr.multipleBallotsInOneEnvelope()),
-                            nz(mbr == null ? null : mbr.envelopeNotSealed()),
-                            nz(mbr == null ? null : mbr.noPostmark()),
-                            nz(mbr == null ? null : mbr.noResidentAddressOnEnvelope()),
-                            nz(mbr == null ? null : mbr.voterDeceased()),
-                            nz(mbr == null ? null : mbr.voterAlreadyVoted()),
-                            nz(mbr == null ? null : mbr.missingDocumentation()),
-                            nz(mbr == null ? null : mbr.voterNotEligible()),
-                            nz(mbr == null ? null : mbr.noBallotApplication()));
-                })
-                .toList();
+        EavsColumnStore.Partition data = fetchEavsColumns(fipsPrefix);
+        int[] late = data.ints("late");
+        int[] missingVoterSignature = data.ints("missingVoterSignature");
+        int[] missingWitnessSignature = data.ints("missingWitnessSignature");
+        int[] nonMatchingVoterSignature = data.ints("nonMatchingVoterSignature");
+        int[] unofficialEnvelope = data.ints("unofficialEnvelope");
+        int[] ballotMissingFromEnvelope = data.ints("ballotMissingFromEnvelope");
+        int[] noSecrecyEnvelope = data.ints("noSecrecyEnvelope");
+        int[] multipleBallotsInOneEnvelope = data.ints("multipleBallotsInOneEnvelope");
+        int[] envelopeNotSealed = data.ints("envelopeNotSealed");
+        int[] noPostmark = data.ints("noPostmark");
+        int[] noResidentAddressOnEnvelope = data.ints("noResidentAddressOnEnvelope");
+        int[] voterDeceased = data.ints("voterDeceased");
+        int[] voterAlreadyVoted = data.ints("voterAlreadyVoted");
+        int[] missingDocumentation = data.ints("missingDocumentation");
+        int[] voterNotEligible = data.ints("voterNotEligible");
+        int[] noBallotApplication = data.ints("noBallotApplication");
+
+        List<MailBallotsRejectedTableResponse.Data> tableData = new ArrayList<>(data.size());
+        for (int row = 0; row < data.size(); row++) {
+            tableData.add(new MailBallotsRejectedTableResponse.Data(
+                    cleanJurisdictionName(data.jurisdictionName(row)),
+                    late[row],
+                    missingVoterSignature[row],
+                    missingWitnessSignature[row],
+                    nonMatchingVoterSignature[row],
+                    unofficialEnvelope[row],
+                    ballotMissingFromEnvelope[row],
+                    noSecrecyEnvelope[row],
+                    multipleBallotsInOneEnvelope[row],
+                    envelopeNotSealed[row],
+                    noPostmark[row],
+                    noResidentAddressOnEnvelope[row],
+                    voterDeceased[row],
+                    voterAlreadyVoted[row],
+                    missingDocumentation[row],
+                    voterNotEligible[row],
+                    noBallotApplication[row]));
+        }
         return new MailBallotsRejectedTableResponse(
                 tableData, MailBallotsRejectedTableResponse.getDefaultMetricLabels());
     }
@@ -272,12 +361,13 @@ public class VoterDataService {
     /**
      * Get mail ballots rejected chart data aggregated for a FIPS prefix.
      */
-    @Cacheable(value = "mailBallotsRejectedChart", key = "#fipsPrefix")
+    @Cacheable(value = "mailBallotsRejectedChart", key = "#fipsPrefix", sync = true)
     public MailBallotsRejectedChartResponse getMailBallotsRejectedChart(String fipsPrefix) {
-        List<EavsData> data = fetchEavsData(fipsPrefix);
+        ColumnSums sums =
+                fetchChartSums(fipsPrefix, "mailBallotsRejectedReason", MailBallotsRejectedChartResponse.class);
 
-        MailBallotsRejectedChartResponse response = RecordAggregator.aggregate(
-                data, EavsData::mailBallotsRejectedReason, MailBallotsRejectedChartResponse.class);
+        MailBallotsRejectedChartResponse response =
+                RecordAggregator.aggregate(sums, MailBallotsRejectedChartResponse.class);
 
         return new MailBallotsRejectedChartResponse(
                 response.late(),
@@ -302,9 +392,9 @@ public class VoterDataService {
     /**
      * Get voting equipment data for the table (2024 only, aggregated by state).
      */
-    @Cacheable(value = "votingEquipmentTable")
+    @Cacheable(value = "votingEquipmentTable", sync = true)
     public VotingEquipmentTableResponse getVotingEquipmentTable() {
-        List<EavsData> allData = repo.findAllNonUocava();
+        List<EavsData> allData = repo.findEquipmentByElectionYear(CURRENT_ELECTION_YEAR);
 
         List<String> excludedStates = List.of(
                 "ALASKA",
@@ -360,49 +450,29 @@ public class VoterDataService {
      * Get voting equipment data for the chart (aggregated by year for a specific
      * state).
      */
-    @Cacheable(value = "votingEquipmentChart", key = "#fipsPrefix")
+    @Cacheable(value = "votingEquipmentChart", key = "#fipsPrefix", sync = true)
     public VotingEquipmentChartResponse getVotingEquipmentChart(String fipsPrefix) {
-        // Query all years and filter by state name
+        // Sum equipment per year for the state, skipping years without equipment data
         String stateAbbr = FipsUtil.getStateAbbr(fipsPrefix);
-        List<EavsData> data;
-        if (stateAbbr != null) {
-            data = repo.findByStateAbbrAllYears(stateAbbr);
-        } else {
-            data = List.of();
-        }
-
-        if (data.isEmpty()) {
-            return new VotingEquipmentChartResponse(
-                    List.of(), VotingEquipmentChartResponse.getDefaultMetricLabels(), "Year", "Quantity");
-        }
-
-        Map<Integer, VotingEquipmentYearlyDTO> yearMap = new HashMap<>();
-
-        for (EavsData record : data) {
-            if (record.electionYear() == null || record.equipment() == null) continue;
-
-            Integer year = record.electionYear();
-            Equipment eq = record.equipment();
-
-            yearMap.merge(
-                    year,
-                    new VotingEquipmentYearlyDTO(
-                            year,
-                            eq.dreNoVVPAT() != null ? eq.dreNoVVPAT() : 0,
-                            eq.dreWithVVPAT() != null ? eq.dreWithVVPAT() : 0,
-                            eq.ballotMarkingDevice() != null ? eq.ballotMarkingDevice() : 0,
-                            eq.scanner() != null ? eq.scanner() : 0),
-                    (v1, v2) -> new VotingEquipmentYearlyDTO(
-                            year,
-                            v1.dreNoVVPAT() + v2.dreNoVVPAT(),
-                            v1.dreWithVVPAT() + v2.dreWithVVPAT(),
-                            v1.ballotMarkingDevice() + v2.ballotMarkingDevice(),
-                            v1.scanner() + v2.scanner()));
+        Map<Integer, ToLongFunction<String>> yearlySums = new TreeMap<>();
+        if (stateAbbr != null && pipelineCharts) {
+            repo.sumFieldsByYear(stateAbbr, "equipment", integerFields(Equipment.class))
+                    .forEach((year, sums) -> yearlySums.put(year, column -> sums.getOrDefault(column, 0L)));
+        } else if (stateAbbr != null) {
+            columnStore.partitions(stateAbbr).forEach((year, partition) -> {
+                if (partition.hasAny("equipment")) {
+                    yearlySums.put(year, partition::sum);
+                }
+            });
         }
 
-        List<VotingEquipmentYearlyDTO> sortedData = yearMap.values().stream()
-                .sorted(Comparator.comparing(VotingEquipmentYearlyDTO::year))
-                .collect(java.util.stream.Collectors.toList());
+        List<VotingEquipmentYearlyDTO> sortedData = new ArrayList<>();
+        yearlySums.forEach((year, sums) -> sortedData.add(new VotingEquipmentYearlyDTO(
+                year,
+                (int) sums.applyAsLong("dreNoVVPAT"),
+                (int) sums.applyAsLong("dreWithVVPAT"),
+                (int) sums.applyAsLong("ballotMarkingDevice"),
+                (int) sums.applyAsLong("scanner"))));
 
         return new VotingEquipmentChartResponse(
                 sortedData, VotingEquipmentChartResponse.getDefaultMetricLabels(), "Year", "Quantity");
@@ -412,7 +482,7 @@ public class VoterDataService {
      * Get voter registration table data for a state FIPS code.
      * Returns county-level party affiliation data.
      */
-    @Cacheable(value = "voterRegistrationTable", key = "#stateFips")
+    @Cacheable(value = "voterRegistrationTable", key = "#stateFips", sync = true)
     public VoterRegistrationTableResponse getVoterRegistrationTable(String stateFips) {
         var stateData = voterRegRepo.findByStateFips(stateFips);
 
@@ -457,11 +527,11 @@ public class VoterDataService {
      * Get voter registration chart data for a state FIPS prefix.
      * Returns historical voter registration totals (2016, 2020, 2024) by county.
      */
-    @Cacheable(value = "voterRegistrationChart", key = "#fipsPrefix")
+    @Cacheable(value = "voterRegistrationChart", key = "#fipsPrefix", sync = true)
     public VoterRegistrationChartResponse getVoterRegistrationChart(String fipsPrefix) {
         String prefix = (fipsPrefix == null ? "" : fipsPrefix.trim());
         String stateAbbr = FipsUtil.getStateAbbr(prefix);
-        List<EavsData> data = (stateAbbr != null) ? repo.findByStateAbbrAllYears(stateAbbr) : List.of();
+        List<EavsData> data = (stateAbbr != null) ? repo.findRegistrationHistoryByStateAbbr(stateAbbr) : List.of();
 
         // Group by NORMALIZED FIPS code
         Map<String, List<EavsData>> groupedByFips = data.stream()
@@ -516,11 +586,11 @@ public class VoterDataService {
      * Calculates percentage registered as: (total registered voters from EAVS 2024
      * / total CVAP) * 100
      */
-    @Cacheable(value = "cvapRegistrationRate", key = "#fipsPrefix")
+    @Cacheable(value = "cvapRegistrationRate", key = "#fipsPrefix", sync = true)
     public CvapRegistrationRateResponse getCvapRegistrationRate(String fipsPrefix) {
         String prefix = (fipsPrefix == null ? "" : fipsPrefix.trim());
 
-        List<EavsData> eavsData = fetchEavsData(prefix);
+        List<EavsData> eavsData = fetchEavsData(prefix, repo::findActiveRegistrationByStateAbbr);
         List<CvapData> rawCvapData = cvapRepo.findByGeoidStartingWith(prefix);
 
         // Filter CVAP by state name
@@ -585,7 +655,7 @@ public class VoterDataService {
      * Returns comparison table with mail ballots, drop box, turnout, and voter
      * registration.
      */
-    @Cacheable(value = "stateComparison", key = "#republicanStateFips + '-' + #democraticStateFips")
+    @Cacheable(value = "stateComparison", key = "#republicanStateFips + '-' + #democraticStateFips", sync = true)
     public StateComparisonResponse getStateComparison(String republicanStateFips, String democraticStateFips) {
         // Get data for both states
         var repData = getStateAggregateData(republicanStateFips);
@@ -653,7 +723,7 @@ public class VoterDataService {
      * Returns comparison table with in-person early voting, mail/absentee voting,
      * and total early voting.
      */
-    @Cacheable(value = "earlyVotingComparison", key = "#republicanStateFips + '-' + #democraticStateFips")
+    @Cacheable(value = "earlyVotingComparison", key = "#republicanStateFips + '-' + #democraticStateFips", sync = true)
     public EarlyVotingComparisonResponse getEarlyVotingComparison(
             String republicanStateFips, String democraticStateFips) {
         // Get data for both states
@@ -718,7 +788,8 @@ public class VoterDataService {
      */
     @Cacheable(
             value = "optInOptOutComparison",
-            key = "#optInFips + '-' + #optOutSameDayFips + '-' + #optOutNoSameDayFips")
+            key = "#optInFips + '-' + #optOutSameDayFips + '-' + #optOutNoSameDayFips",
+            sync = true)
     public OptInOptOutComparisonResponse getOptInOptOutComparison(
             String optInFips, String optOutSameDayFips, String optOutNoSameDayFips) {
         var optInData = getStateAggregateData(optInFips);
@@ -781,11 +852,11 @@ public class VoterDataService {
     /**
      * Get drop box voting data for a state FIPS prefix.
      */
-    @Cacheable(value = "dropBoxVotingData", key = "#fipsPrefix")
+    @Cacheable(value = "dropBoxVotingData", key = "#fipsPrefix", sync = true)
     public List<DropBoxVotingData> getDropBoxVotingData(String fipsPrefix) {
 
         List<CountyVoteSplit> countySplits = countyVoteSplitRepo.findByStateFips(fipsPrefix);
-        List<EavsData> eavsData = fetchEavsData(fipsPrefix);
+        List<EavsData> eavsData = fetchEavsData(fipsPrefix, repo::findDropBoxByStateAbbr);
 
         // Create a map of EavsData by normalized jurisdiction name
         Map<String, EavsData> eavsMap = eavsData.stream()
@@ -798,7 +869,7 @@ public class VoterDataService {
                         (a, b) -> a // Merge function if duplicates
                         ));
 
-        List<DropBoxVotingData> result = new java.util.ArrayList<>();
+        List<DropBoxVotingData> result = new ArrayList<>();
 
         for (CountyVoteSplit split : countySplits) {
             String normalizedName =
@@ -836,7 +907,7 @@ public class VoterDataService {
     private Map<String, Object> getEarlyVotingAggregateData(String stateFips) {
         Map<String, Object> result = new HashMap<>();
 
-        List<EavsData> eavsData = fetchEavsData(stateFips);
+        List<EavsData> eavsData = fetchEavsData(stateFips, repo::findTurnoutByStateAbbr);
 
         long inPersonEarlyVoting = 0;
         long mailAbsenteeVoting = 0;
@@ -876,7 +947,7 @@ public class VoterDataService {
     private Map<String, Object> getStateAggregateData(String stateFips) {
         Map<String, Object> result = new HashMap<>();
 
-        List<EavsData> eavsData = fetchEavsData(stateFips);
+        List<EavsData> eavsData = fetchEavsData(stateFips, repo::findTurnoutByStateAbbr);
         List<CvapData> rawCvapData = cvapRepo.findByGeoidStartingWith(stateFips);
 
         // Filter CVAP by state name
@@ -953,28 +1024,119 @@ public class VoterDataService {
      * Filters for DEM/REP and formats party names.
      */
     public FloridaVotersResponse getFloridaVoters(String countyName, String party, Pageable pageable) {
-        List<String> partiesToFilter;
+        List<String> parties = floridaParties(party);
+        Pageable page = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), listingSort(pageable));
+        List<VoterListing> voters = voterRepo.findByCountyNameAndValidNameTrueAndPartyIn(countyName, parties, page);
+
+        long total = voterCounts.count(countyName, parties);
+        return new FloridaVotersResponse(
+                FLORIDA_VOTER_LABELS, toFloridaVoters(voters), pageCount(total, pageable.getPageSize()), total, null);
+    }
+
+    /**
+     * Get the page of a Florida county's voters after {@code cursor}, in
+     * party then name order. Pages seek along the listing index rather
+     * than skipping, so deep pages cost the same as the first. Returns null for
+     * a cursor that was not issued by this endpoint.
+     */
+    public FloridaVotersResponse getFloridaVoters(String countyName, String party, String cursor, int size) {
+        KeysetScrollPosition position;
+        try {
+            position = ScrollCursor.position(cursor, FLORIDA_VOTER_ORDER);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        List<String> parties = floridaParties(party);
+        Window<VoterListing> window = voterRepo.findByCountyNameAndValidNameTrueAndPartyIn(
+                countyName, parties, position, FLORIDA_VOTER_ORDER, Limit.of(size));
+
+        long total = voterCounts.count(countyName, parties);
+        return new FloridaVotersResponse(
+                FLORIDA_VOTER_LABELS,
+                toFloridaVoters(window.getContent()),
+                pageCount(total, size),
+                total,
+                ScrollCursor.next(window));
+    }
+
+    /**
+     * Get up to {@code limit} listed voters in a Florida county whose name
+     * starts with {@code prefix}, in name order. The prefix is matched
+     * case-insensitively as a range on the stored sort name, so only matching
+     * index entries are read. Returns null for a blank prefix.
+     */
+    public List<FloridaVoterDTO> searchFloridaVoters(String countyName, String party, String prefix, int limit) {
+        String normalized = prefix == null ? "" : prefix.strip().toUpperCase(Locale.ROOT);
+        if (normalized.isEmpty()) {
+            return null;
+        }
+
+        List<VoterListing> voters = voterRepo.findByCountyNameAndValidNameTrueAndPartyInAndSortNameBetween(
+                countyName,
+                floridaParties(party),
+                prefixRange(normalized),
+                FLORIDA_VOTER_SEARCH_ORDER,
+                Limit.of(Math.min(Math.max(limit, 1), MAX_FLORIDA_VOTER_SEARCH_RESULTS)));
+        return toFloridaVoters(voters);
+    }
+
+    /**
+     * Stream every listed voter of a Florida county, in party then name order,
+     * from a Mongo cursor. Only the current batch is held in memory, so this
+     * suits writing whole-county exports as they are read.
+     */
+    public void streamFloridaVoters(String countyName, String party, Consumer<FloridaVoterDTO> sink) {
+        try (Stream<VoterListing> voters = voterRepo.streamByCountyNameAndValidNameTrueAndPartyIn(
+                countyName, floridaParties(party), FLORIDA_VOTER_ORDER)) {
+            voters.forEach(v -> sink.accept(toFloridaVoter(v)));
+        }
+    }
+
+    /**
+     * Range of strings starting with {@code prefix}. Mongo orders strings by
+     * code point, so the range ends below the prefix with its last code point
+     * incremented, and is open when that code point is already the largest.
+     */
+    private static Range<String> prefixRange(String prefix) {
+        int last = prefix.codePointBefore(prefix.length());
+        if (last == Character.MAX_CODE_POINT) {
+            return Range.of(Range.Bound.inclusive(prefix), Range.Bound.unbounded());
+        }
+        int next = last + 1 == Character.MIN_SURROGATE ? Character.MAX_SURROGATE + 1 : last + 1;
+        String head = prefix.substring(0, prefix.length() - Character.charCount(last));
+        return Range.rightOpen(prefix, head + Character.toString(next));
+    }
+
+    private static int pageCount(long total, int size) {
+        return size <= 0 ? 1 : (int) ((total + size - 1) / size);
+    }
+
+    private static List<String> floridaParties(String party) {
         if ("Republican".equalsIgnoreCase(party)) {
-            partiesToFilter = List.of("REP");
+            return List.of("REP");
         } else if ("Democrat".equalsIgnoreCase(party)) {
-            partiesToFilter = List.of("DEM");
-        } else {
-            partiesToFilter = List.of("DEM", "REP");
+            return List.of("DEM");
         }
+        return List.of("DEM", "REP");
+    }
 
-        Page<Voter> voterPage =
-                voterRepo.findByCountyNameAndPartyInAndNameRegex(countyName, partiesToFilter, "^[a-zA-Z]", pageable);
+    /**
+     * The requested sort with names ordered by the stored sort name, so sorts
+     * the listing index supports run without a sort stage.
+     */
+    private static Sort listingSort(Pageable pageable) {
+        return Sort.by(pageable.getSort().stream()
+                .map(order -> "name".equals(order.getProperty()) ? order.withProperty("sortName") : order)
+                .toList());
+    }
 
-        List<FloridaVoterDTO> filteredVoters = voterPage.stream()
-                .map(v -> {
-                    String partyName = "DEM".equals(v.party()) ? "Democrat" : "Republican";
-                    return new FloridaVoterDTO(v.name().toUpperCase(), partyName);
-                })
-                .toList();
+    private static List<FloridaVoterDTO> toFloridaVoters(List<VoterListing> voters) {
+        return voters.stream().map(VoterDataService::toFloridaVoter).toList();
+    }
 
-        List<String> metricLabels = List.of("Name", "Party");
-        return new FloridaVotersResponse(
-                metricLabels, filteredVoters, voterPage.getTotalPages(), voterPage.getTotalElements());
+    private static FloridaVoterDTO toFloridaVoter(VoterListing voter) {
+        String partyName = "DEM".equals(voter.party()) ? "Democrat" : "Republican";
+        return new FloridaVoterDTO(voter.sortName(), partyName);
     }
 
     /**
@@ -982,7 +1144,7 @@ public class VoterDataService {
      * Returns precinct-level voting data with county demographics and regression
      * curves.
      */
-    @Cacheable(value = "ginglesChartData", key = "#fipsPrefix")
+    @Cacheable(value = "ginglesChartData", key = "#fipsPrefix", sync = true)
     public GinglesChartResponse getGinglesChartData(String fipsPrefix) {
         var data = ginglesChartDataRepo.findByStateFips(fipsPrefix);
 
@@ -1010,7 +1172,7 @@ public class VoterDataService {
                 .toList();
 
         // Convert regression curves to DTOs
-        java.util.Map<String, GinglesChartResponse.DemographicCurvesDTO> curveDTOs = new java.util.HashMap<>();
+        Map<String, GinglesChartResponse.DemographicCurvesDTO> curveDTOs = new HashMap<>();
 
         for (var entry : chartData.regressionCurves().entrySet()) {
             String demographic = entry.getKey();
@@ -1037,32 +1199,30 @@ public class VoterDataService {
      * Get county-level voting equipment types for a state.
      * Determines dominant equipment type per county based on equipment counts.
      */
-    @Cacheable(value = "countyEquipmentTypes", key = "#fipsPrefix")
+    @Cacheable(value = "countyEquipmentTypes", key = "#fipsPrefix", sync = true)
     public CountyEquipmentTypeResponse getCountyEquipmentTypes(String fipsPrefix) {
-        List<EavsData> data = fetchEavsData(fipsPrefix);
-
-        List<CountyEquipmentTypeDTO> countyData = data.stream()
-                .filter(record -> record.equipment() != null)
-                .map(record -> {
-                    Equipment eq = record.equipment();
-                    int dreNoVvpat = nz(eq.dreNoVVPAT());
-                    int dreWithVvpat = nz(eq.dreWithVVPAT());
-                    int bmd = nz(eq.ballotMarkingDevice());
-                    int scanner = nz(eq.scanner());
-
-                    String equipmentType = determineEquipmentType(dreNoVvpat, dreWithVvpat, bmd, scanner);
-
-                    return new CountyEquipmentTypeDTO(
-                            record.fipsCode(),
-                            cleanJurisdictionName(record.jurisdictionName()),
-                            equipmentType,
-                            dreNoVvpat,
-                            dreWithVvpat,
-                            bmd,
-                            scanner);
-                })
-                .sorted(Comparator.comparing(CountyEquipmentTypeDTO::jurisdictionName))
-                .toList();
+        EavsColumnStore.Partition data = fetchEavsColumns(fipsPrefix);
+        int[] dreNoVvpat = data.ints("dreNoVVPAT");
+        int[] dreWithVvpat = data.ints("dreWithVVPAT");
+        int[] bmd = data.ints("ballotMarkingDevice");
+        int[] scanner = data.ints("scanner");
+
+        List<CountyEquipmentTypeDTO> countyData = new ArrayList<>(data.size());
+        for (int row = 0; row < data.size(); row++) {
+            if (!data.has("equipment", row)) continue;
+
+            String equipmentType = determineEquipmentType(dreNoVvpat[row], dreWithVvpat[row], bmd[row], scanner[row]);
+
+            countyData.add(new CountyEquipmentTypeDTO(
+                    data.fipsCode(row),
+                    cleanJurisdictionName(data.jurisdictionName(row)),
+                    equipmentType,
+                    dreNoVvpat[row],
+                    dreWithVvpat[row],
+                    bmd[row],
+                    scanner[row]));
+        }
+        countyData.sort(Comparator.comparing(CountyEquipmentTypeDTO::jurisdictionName));
 
         return new CountyEquipmentTypeResponse(countyData, CountyEquipmentTypeResponse.getDefaultEquipmentLabels());
     }
@@ -1097,7 +1257,7 @@ public class VoterDataService {
      * Get equipment summary data for the national summary table (modal view).
      * Returns all equipment with quality scores.
      */
-    @Cacheable(value = "equipmentSummary")
+    @Cacheable(value = "equipmentSummary", sync = true)
     public EquipmentSummaryResponse getEquipmentSummary() {
         List<EquipmentData> data = equipmentDataRepo.findAll();
 
@@ -1125,7 +1285,7 @@ public class VoterDataService {
      * Returns equipment for the specified state or general equipment if state has
      * no specific data.
      */
-    @Cacheable(value = "stateEquipmentSummary", key = "#stateFips")
+    @Cacheable(value = "stateEquipmentSummary", key = "#stateFips", sync = true)
     public StateEquipmentSummaryResponse getStateEquipmentSummary(String stateFips) {
         // First try to get state-specific equipment
         List<EquipmentData> stateData = equipmentDataRepo.findByStateFips(stateFips);
@@ -1159,9 +1319,9 @@ public class VoterDataService {
      * Returns county-level data points and quadratic regression coefficients for
      * each party.
      */
-    @Cacheable(value = "equipmentQualityChart", key = "#fipsPrefix")
+    @Cacheable(value = "equipmentQualityChart", key = "#fipsPrefix", sync = true)
     public EquipmentQualityChartResponse getEquipmentQualityVsRejectedBallots(String fipsPrefix) {
-        List<EavsData> eavsData = fetchEavsData(fipsPrefix);
+        List<EavsData> eavsData = fetchEavsData(fipsPrefix, repo::findRejectedBallotsByStateAbbr);
         List<CountyVoteSplit> voteSplits = countyVoteSplitRepo.findByStateFips(fipsPrefix);
         List<EquipmentData> equipmentData = equipmentDataRepo.findAll();
 
@@ -1178,7 +1338,7 @@ public class VoterDataService {
                         v -> v.countyName().toUpperCase().replace(" COUNTY", "").trim(), v -> v, (a, b) -> a));
 
         // Build county data points
-        List<EquipmentQualityChartDTO> dataPoints = new java.util.ArrayList<>();
+        List<EquipmentQualityChartDTO> dataPoints = new ArrayList<>();
 
         for (EavsData eavs : eavsData) {
             if (eavs.equipment() == null || eavs.percentageRejectedBallots() == null) {
@@ -1271,7 +1431,7 @@ public class VoterDataService {
             }
 
             typeScores
-                    .computeIfAbsent(category, k -> new java.util.ArrayList<>())
+                    .computeIfAbsent(category, k -> new ArrayList<>())
                     .add(eq.qualityScore());
         }
 
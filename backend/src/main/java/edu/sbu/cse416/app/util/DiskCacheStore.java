@@ -0,0 +1,244 @@
+package edu.sbu.cse416.app.util;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Size-bounded, least-recently-used store of serialized cache entries, one file
+ * per entry. Reads memory-map the file rather than copying it onto the heap.
+ *
+ * <p>Every file is a JSON envelope that starts with {@code cache}, {@code key},
+ * {@code build} and {@code version} fields, so the index can be rebuilt from
+ * the directory on startup without reading whole entries. Recency survives
+ * restarts through the files' modification times. Entries written by another
+ * build are dropped at startup, since the classes they hold may have changed.
+ */
+public class DiskCacheStore {
+
+    private static final Logger log = LoggerFactory.getLogger(DiskCacheStore.class);
+
+    private static final String SUFFIX = ".json";
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final Path directory;
+    private final long maxBytes;
+    private final String build;
+
+    // id -> entry, in access order
+    private final LinkedHashMap<String, Meta> index = new LinkedHashMap<>(256, 0.75f, true);
+    private long totalBytes;
+
+    /**
+     * Open the store, dropping entries written by any build other than
+     * {@code build} or for any version other than {@code currentVersion}.
+     */
+    public DiskCacheStore(Path directory, long maxBytes, String build, long currentVersion) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.maxBytes = maxBytes;
+        this.build = build;
+        load(currentVersion);
+    }
+
+    /**
+     * Build the store's entries belong to, written into every envelope.
+     */
+    public String build() {
+        return build;
+    }
+
+    /**
+     * File name for an entry, stable across restarts of the same build.
+     */
+    public String id(String cacheName, long version, String key) {
+        String text = cacheName + '\0' + build + '\0' + version + '\0' + key;
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(text.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 20);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Map an entry into memory, or return null if it is not stored.
+     */
+    public ByteBuffer get(String id) {
+        Path file;
+        synchronized (this) {
+            if (index.get(id) == null) {
+                return null;
+            }
+            file = path(id);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis()));
+            return buffer;
+        } catch (IOException e) {
+            // Evicted between the lookup and the read
+            remove(id);
+            return null;
+        }
+    }
+
+    /**
+     * Store an entry, evicting the least recently used ones past the size bound.
+     */
+    public void put(String id, String cacheName, String key, byte[] envelope) {
+        if (envelope.length > maxBytes) {
+            return;
+        }
+        Path file = path(id);
+        try {
+            Path temp = Files.createTempFile(directory, id, ".tmp");
+            Files.write(temp, envelope);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Could not write cache entry {}", file, e);
+            return;
+        }
+        synchronized (this) {
+            Meta previous = index.put(id, new Meta(cacheName, key, envelope.length));
+            totalBytes += envelope.length - (previous == null ? 0 : previous.size());
+            trim();
+        }
+    }
+
+    public synchronized void remove(String id) {
+        Meta meta = index.remove(id);
+        if (meta != null) {
+            totalBytes -= meta.size();
+            delete(id);
+        }
+    }
+
+    /**
+     * Remove every entry of a cache whose key matches.
+     */
+    public synchronized void removeIf(String cacheName, Predicate<String> key) {
+        Iterator<Map.Entry<String, Meta>> entries = index.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, Meta> entry = entries.next();
+            if (entry.getValue().cacheName().equals(cacheName) && key.test(entry.getValue().key())) {
+                entries.remove();
+                totalBytes -= entry.getValue().size();
+                delete(entry.getKey());
+            }
+        }
+    }
+
+    private void trim() {
+        Iterator<Map.Entry<String, Meta>> eldest = index.entrySet().iterator();
+        while (totalBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<String, Meta> entry = eldest.next();
+            eldest.remove();
+            totalBytes -= entry.getValue().size();
+            delete(entry.getKey());
+        }
+    }
+
+    private void load(long currentVersion) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+            stream.forEach(files::add);
+        }
+        // Oldest first, so the access-ordered index ends with the most recent
+        files.sort(Comparator.comparing(DiskCacheStore::lastModified));
+
+        for (Path file : files) {
+            String name = file.getFileName().toString();
+            Meta meta = name.endsWith(SUFFIX) ? readMeta(file, build, currentVersion) : null;
+            if (meta == null) {
+                Files.deleteIfExists(file);
+                continue;
+            }
+            index.put(name.substring(0, name.length() - SUFFIX.length()), meta);
+            totalBytes += meta.size();
+        }
+        trim();
+        log.info("Disk cache holds {} entries, {} bytes", index.size(), totalBytes);
+    }
+
+    /**
+     * Read the leading envelope fields. Returns null for unreadable files and
+     * entries from other builds or versions.
+     */
+    private static Meta readMeta(Path file, String currentBuild, long currentVersion) {
+        try (JsonParser parser = JSON.createParser(file.toFile())) {
+            String cacheName = null;
+            String key = null;
+            String build = null;
+            Long version = null;
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while ((cacheName == null || key == null || build == null || version == null)
+                    && parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+                switch (field) {
+                    case "cache" -> cacheName = parser.getText();
+                    case "key" -> key = parser.getText();
+                    case "build" -> build = parser.getText();
+                    case "version" -> version = parser.getLongValue();
+                    default -> parser.skipChildren();
+                }
+            }
+            if (cacheName == null
+                    || key == null
+                    || !currentBuild.equals(build)
+                    || version == null
+                    || version != currentVersion) {
+                return null;
+            }
+            return new Meta(cacheName, key, Files.size(file));
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private void delete(String id) {
+        try {
+            Files.deleteIfExists(path(id));
+        } catch (IOException e) {
+            log.warn("Could not delete cache entry {}", id, e);
+        }
+    }
+
+    private Path path(String id) {
+        return directory.resolve(id + SUFFIX);
+    }
+
+    private record Meta(String cacheName, String key, long size) {}
+}
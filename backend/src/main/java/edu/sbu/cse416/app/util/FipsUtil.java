@@ -1,6 +1,7 @@
 package edu.sbu.cse416.app.util;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class FipsUtil {
@@ -89,4 +90,11 @@ public class FipsUtil {
         String stateFips = fipsPrefix.substring(0, 2);
         return STATE_ABBR_MAP.get(stateFips);
     }
+
+    /**
+     * Every known state and territory FIPS code, in numeric order.
+     */
+    public static List<String> getAllStateFips() {
+        return STATE_FIPS_MAP.keySet().stream().sorted().toList();
+    }
 }
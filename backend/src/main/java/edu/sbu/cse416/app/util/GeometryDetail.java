@@ -0,0 +1,49 @@
+package edu.sbu.cse416.app.util;
+
+/**
+ * Level-of-detail tiers for map geometry. Each tier has a Douglas-Peucker
+ * tolerance in degrees; {@link #FULL} leaves geometry untouched.
+ */
+public enum GeometryDetail {
+    LOW(0.05),
+    MEDIUM(0.01),
+    HIGH(0.002),
+    FULL(0.0);
+
+    private final double tolerance;
+
+    GeometryDetail(double tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    public double tolerance() {
+        return tolerance;
+    }
+
+    /**
+     * Pick a tier from request parameters. An explicit tolerance maps to the
+     * coarsest tier that does not exceed it; otherwise the map zoom level is used.
+     * With neither, full detail is returned.
+     */
+    public static GeometryDetail of(Integer zoom, Double tolerance) {
+        if (tolerance != null) {
+            for (GeometryDetail detail : values()) {
+                if (detail.tolerance <= tolerance) {
+                    return detail;
+                }
+            }
+            return FULL;
+        }
+        if (zoom == null) {
+            return FULL;
+        }
+        if (zoom <= 4) {
+            return LOW;
+        } else if (zoom <= 6) {
+            return MEDIUM;
+        } else if (zoom <= 8) {
+            return HIGH;
+        }
+        return FULL;
+    }
+}
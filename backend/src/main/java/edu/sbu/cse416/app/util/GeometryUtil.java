@@ -0,0 +1,58 @@
+package edu.sbu.cse416.app.util;
+
+import edu.sbu.cse416.app.model.geojson.PackedCoordinates;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Geometry helpers shared by the GeoJSON, TopoJSON and vector tile outputs.
+ */
+public class GeometryUtil {
+
+    public static final String POLYGON = "Polygon";
+    public static final String MULTI_POLYGON = "MultiPolygon";
+
+    private GeometryUtil() {}
+
+    /**
+     * Polygons of a geometry as lists of interleaved x,y rings. Missing and
+     * non-polygonal coordinates yield an empty list.
+     */
+    public static List<List<double[]>> toPolygons(PackedCoordinates coordinates) {
+        return coordinates == null ? List.of() : coordinates.toPolygons();
+    }
+
+    /**
+     * Simplify a set of geometries together through a shared {@link Topology}, so
+     * borders between them are simplified once and stay aligned. Non-polygonal
+     * geometries are returned as they are.
+     *
+     * @param types GeoJSON geometry type of each geometry
+     * @param coordinates coordinates of each geometry
+     * @param tolerance Douglas-Peucker tolerance in coordinate units
+     * @return simplified coordinates, in the same order as the input
+     */
+    public static List<PackedCoordinates> simplify(
+            List<String> types, List<PackedCoordinates> coordinates, double tolerance) {
+        if (tolerance <= 0) {
+            return coordinates;
+        }
+
+        List<List<List<double[]>>> features = new ArrayList<>(types.size());
+        for (PackedCoordinates c : coordinates) {
+            features.add(toPolygons(c));
+        }
+        List<List<List<double[]>>> simplified = Topology.build(features).simplify(tolerance).toFeatures();
+
+        List<PackedCoordinates> result = new ArrayList<>(types.size());
+        for (int i = 0; i < types.size(); i++) {
+            PackedCoordinates original = coordinates.get(i);
+            if (original == null || !original.isPolygonal()) {
+                result.add(original);
+            } else {
+                result.add(PackedCoordinates.ofPolygons(simplified.get(i), MULTI_POLYGON.equals(types.get(i))));
+            }
+        }
+        return result;
+    }
+}
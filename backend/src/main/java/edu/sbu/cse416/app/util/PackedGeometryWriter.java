@@ -0,0 +1,213 @@
+package edu.sbu.cse416.app.util;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Writes map layers in a packed binary layout that browsers can read with
+ * zero-copy typed array views. Every value is little-endian and 4-byte aligned.
+ *
+ * <pre>
+ * Header (48 bytes)
+ *   u32 magic "EGB1", u32 version, u32 featureCount,
+ *   u32 indexOffset, u32 propertiesOffset, u32 propertiesLength,
+ *   u32 geometryOffset, u32 geometryLength, f32[4] layer bbox
+ * Index (24 bytes per feature, sorted along a Hilbert curve)
+ *   f32 minX, f32 minY, f32 maxX, f32 maxY,
+ *   u32 geometry offset (from geometryOffset), u32 geometry length
+ * Properties
+ *   UTF-8 JSON array, one object per feature in index order, padded to 4 bytes
+ * Geometry, per feature
+ *   u32 polygonCount, u32 ringCount, u32[polygonCount] rings per polygon,
+ *   u32[ringCount] points per ring, f32[2 * points] x,y
+ * </pre>
+ *
+ * <p>A client can fetch the header and index with one Range request, pick the
+ * features inside its viewport, and fetch only their geometry. Hilbert ordering
+ * keeps nearby features next to each other, so a viewport maps to a few
+ * contiguous byte ranges.
+ */
+public class PackedGeometryWriter {
+
+    public static final String MEDIA_TYPE = "application/vnd.cse416.packed-geometry";
+
+    private static final int MAGIC = 0x31424745; // "EGB1" read as little-endian bytes
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 48;
+    private static final int INDEX_ENTRY_BYTES = 24;
+    private static final int HILBERT_ORDER = 16;
+
+    private PackedGeometryWriter() {}
+
+    /**
+     * Write a layer to {@code target}, replacing it atomically.
+     *
+     * @param polygons polygons of each feature as interleaved x,y rings
+     * @param properties properties of each feature, serialized with {@code objectMapper}
+     */
+    public static void write(
+            Path target, List<List<List<double[]>>> polygons, List<?> properties, ObjectMapper objectMapper)
+            throws IOException {
+        int count = polygons.size();
+        double[][] boxes = new double[count][];
+        double[] layerBox = emptyBox();
+        for (int i = 0; i < count; i++) {
+            boxes[i] = emptyBox();
+            for (List<double[]> rings : polygons.get(i)) {
+                for (double[] ring : rings) {
+                    for (int j = 0; j + 1 < ring.length; j += 2) {
+                        extend(boxes[i], ring[j], ring[j + 1]);
+                        extend(layerBox, ring[j], ring[j + 1]);
+                    }
+                }
+            }
+        }
+
+        Integer[] order = new Integer[count];
+        long[] keys = new long[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+            keys[i] = hilbertKey(boxes[i], layerBox);
+        }
+        Arrays.sort(order, Comparator.comparingLong(i -> keys[i]));
+
+        List<Object> orderedProperties = new ArrayList<>(count);
+        for (int i : order) {
+            orderedProperties.add(properties.get(i));
+        }
+        byte[] propertiesJson = objectMapper.writeValueAsBytes(orderedProperties);
+
+        int[] geometryBytes = new int[count];
+        int geometryLength = 0;
+        for (int i = 0; i < count; i++) {
+            geometryBytes[i] = geometrySize(polygons.get(i));
+            geometryLength += geometryBytes[i];
+        }
+        int indexOffset = HEADER_BYTES;
+        int propertiesOffset = indexOffset + count * INDEX_ENTRY_BYTES;
+        int geometryOffset = align(propertiesOffset + propertiesJson.length);
+
+        ByteBuffer buffer = ByteBuffer.allocate(geometryOffset + geometryLength).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC).putInt(VERSION).putInt(count);
+        buffer.putInt(indexOffset).putInt(propertiesOffset).putInt(propertiesJson.length);
+        buffer.putInt(geometryOffset).putInt(geometryLength);
+        putBox(buffer, count == 0 ? new double[4] : layerBox);
+
+        int relative = 0;
+        for (int i : order) {
+            putBox(buffer, boxes[i]);
+            buffer.putInt(relative).putInt(geometryBytes[i]);
+            relative += geometryBytes[i];
+        }
+
+        buffer.put(propertiesJson);
+        buffer.position(geometryOffset);
+        for (int i : order) {
+            putGeometry(buffer, polygons.get(i));
+        }
+        buffer.flip();
+
+        Path temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static int geometrySize(List<List<double[]>> polygons) {
+        int rings = 0;
+        int points = 0;
+        for (List<double[]> polygon : polygons) {
+            rings += polygon.size();
+            for (double[] ring : polygon) {
+                points += ring.length / 2;
+            }
+        }
+        return 8 + 4 * polygons.size() + 4 * rings + 8 * points;
+    }
+
+    private static void putGeometry(ByteBuffer buffer, List<List<double[]>> polygons) {
+        int rings = polygons.stream().mapToInt(List::size).sum();
+        buffer.putInt(polygons.size()).putInt(rings);
+        for (List<double[]> polygon : polygons) {
+            buffer.putInt(polygon.size());
+        }
+        for (List<double[]> polygon : polygons) {
+            for (double[] ring : polygon) {
+                buffer.putInt(ring.length / 2);
+            }
+        }
+        for (List<double[]> polygon : polygons) {
+            for (double[] ring : polygon) {
+                for (double v : ring) {
+                    buffer.putFloat((float) v);
+                }
+            }
+        }
+    }
+
+    private static double[] emptyBox() {
+        return new double[] {Double.MAX_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+    }
+
+    private static void extend(double[] box, double x, double y) {
+        box[0] = Math.min(box[0], x);
+        box[1] = Math.min(box[1], y);
+        box[2] = Math.max(box[2], x);
+        box[3] = Math.max(box[3], y);
+    }
+
+    private static void putBox(ByteBuffer buffer, double[] box) {
+        boolean empty = box[0] > box[2];
+        for (double v : box) {
+            buffer.putFloat(empty ? 0f : (float) v);
+        }
+    }
+
+    private static int align(int offset) {
+        return (offset + 3) & ~3;
+    }
+
+    /**
+     * Position of a box center along a Hilbert curve over the layer bounds.
+     */
+    private static long hilbertKey(double[] box, double[] layerBox) {
+        if (box[0] > box[2] || layerBox[0] >= layerBox[2] || layerBox[1] >= layerBox[3]) {
+            return 0;
+        }
+        int n = 1 << HILBERT_ORDER;
+        long x = Math.round(((box[0] + box[2]) / 2 - layerBox[0]) / (layerBox[2] - layerBox[0]) * (n - 1));
+        long y = Math.round(((box[1] + box[3]) / 2 - layerBox[1]) / (layerBox[3] - layerBox[1]) * (n - 1));
+
+        long d = 0;
+        for (long s = n / 2; s > 0; s /= 2) {
+            long rx = (x & s) > 0 ? 1 : 0;
+            long ry = (y & s) > 0 ? 1 : 0;
+            d += s * s * ((3 * rx) ^ ry);
+            // Rotate the quadrant so the curve stays continuous
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = n - 1 - x;
+                    y = n - 1 - y;
+                }
+                long t = x;
+                x = y;
+                y = t;
+            }
+        }
+        return d;
+    }
+}
@@ -1,109 +1,129 @@
 package edu.sbu.cse416.app.util;
 
 import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.RecordComponent;
 import java.util.Arrays;
-import java.util.List;
-import java.util.function.Function;
 
 /**
- * Generic utility for aggregating Integer fields from record classes.
- * Automatically sums all Integer fields across multiple records and creates a new response record.
+ * Generic utility for building aggregated response records.
+ * Fills every numeric field of a response record from the column sum of the same name.
+ *
+ * <p>Reflection is only used once per response record type to find its components and
+ * canonical constructor.
  */
 public class RecordAggregator {
 
+    private static final int SKIP = 0;
+    private static final int INTEGER = 1;
+    private static final int LONG = 2;
+    private static final int DOUBLE = 3;
+
+    private static final ClassValue<ResponsePlan> RESPONSE_PLANS = new ClassValue<>() {
+        @Override
+        protected ResponsePlan computeValue(Class<?> type) {
+            return ResponsePlan.of(type);
+        }
+    };
+
     /**
-     * Aggregates a list of source records into a single response record by summing Integer fields.
+     * Sums of named columns. Integer and Long fields read {@link #sum}, Double
+     * fields read {@link #doubleSum}, so fractional values are not truncated.
+     */
+    @FunctionalInterface
+    public interface ColumnSums {
+
+        long sum(String column);
+
+        /**
+         * Sum of a fractional column. Sources holding only whole numbers can
+         * leave this to {@link #sum}.
+         */
+        default double doubleSum(String column) {
+            return sum(column);
+        }
+    }
+
+    /**
+     * Builds a response record from pre-summed columns, matching response fields to columns by name.
      *
-     * @param <T> Source record type (e.g., ProvisionalBallots)
      * @param <R> Response record type (e.g., ProvisionalChartResponse)
-     * @param data List of source data records
-     * @param extractor Function to extract the nested record from the parent object
+     * @param columnSums The sum of each named column
      * @param responseClass The class of the response DTO to create
-     * @return Aggregated response record with all Integer fields summed
+     * @return Response record with every numeric field set to its column sum
      */
-    public static <T, R extends Record> R aggregate(
-            List<T> data, Function<T, ? extends Record> extractor, Class<R> responseClass) {
-
-        // Get the canonical constructor and record components
-        RecordComponent[] components = responseClass.getRecordComponents();
-        Constructor<R> constructor;
-
-        try {
-            Class<?>[] paramTypes =
-                    Arrays.stream(components).map(RecordComponent::getType).toArray(Class<?>[]::new);
-            constructor = responseClass.getDeclaredConstructor(paramTypes);
-        } catch (NoSuchMethodException e) {
-            throw new IllegalArgumentException("Cannot find canonical constructor for " + responseClass.getName(), e);
-        }
+    public static <R extends Record> R aggregate(ColumnSums columnSums, Class<R> responseClass) {
+        ResponsePlan response = RESPONSE_PLANS.get(responseClass);
+        Object[] args = new Object[response.kinds.length];
 
-        // Initialize accumulator array with zeros
-        Object[] accumulator = new Object[components.length];
-        for (int i = 0; i < components.length; i++) {
-            Class<?> type = components[i].getType();
-            if (type == Integer.class) {
-                accumulator[i] = 0;
-            } else if (type == Long.class) {
-                accumulator[i] = 0L;
-            } else if (type == Double.class) {
-                accumulator[i] = 0.0;
-            } else {
-                // Skip unsupported types - they will be set to null
-                accumulator[i] = null;
+        for (int i = 0; i < response.kinds.length; i++) {
+            switch (response.kinds[i]) {
+                case INTEGER -> args[i] = (int) columnSums.sum(response.names[i]);
+                case LONG -> args[i] = columnSums.sum(response.names[i]);
+                case DOUBLE -> args[i] = columnSums.doubleSum(response.names[i]);
+                default -> args[i] = null;
             }
         }
 
-        // Aggregate data
-        for (T item : data) {
-            Record sourceRecord = extractor.apply(item);
-            if (sourceRecord == null) continue;
+        return responseClass.cast(response.create(args));
+    }
+
+    private static int kindOf(Class<?> type) {
+        if (type == Integer.class) {
+            return INTEGER;
+        } else if (type == Long.class) {
+            return LONG;
+        } else if (type == Double.class) {
+            return DOUBLE;
+        }
+        // Unsupported types are left null
+        return SKIP;
+    }
+
+    /**
+     * Numeric component layout and canonical constructor of a response record.
+     */
+    private static final class ResponsePlan {
+
+        private final String[] names;
+        private final int[] kinds;
+        private final Constructor<?> constructor;
 
-            RecordComponent[] sourceComponents = sourceRecord.getClass().getRecordComponents();
+        private ResponsePlan(String[] names, int[] kinds, Constructor<?> constructor) {
+            this.names = names;
+            this.kinds = kinds;
+            this.constructor = constructor;
+        }
 
+        static ResponsePlan of(Class<?> responseClass) {
+            RecordComponent[] components = responseClass.getRecordComponents();
+            if (components == null) {
+                throw new IllegalArgumentException(responseClass.getName() + " is not a record");
+            }
+
+            String[] names = new String[components.length];
+            int[] kinds = new int[components.length];
             for (int i = 0; i < components.length; i++) {
-                String fieldName = components[i].getName();
-                Class<?> fieldType = components[i].getType();
-
-                // Skip non-numeric types
-                if (fieldType != Integer.class && fieldType != Long.class && fieldType != Double.class) {
-                    continue;
-                }
-
-                // Find matching field in source record
-                RecordComponent sourceComponent = Arrays.stream(sourceComponents)
-                        .filter(rc -> rc.getName().equals(fieldName))
-                        .findFirst()
-                        .orElse(null);
-
-                if (sourceComponent != null) {
-                    try {
-                        Object value = sourceComponent.getAccessor().invoke(sourceRecord);
-                        if (value != null) {
-                            accumulator[i] = addValues(accumulator[i], value, fieldType);
-                        }
-                    } catch (Exception e) {
-                        throw new RuntimeException("Failed to access field: " + fieldName, e);
-                    }
-                }
+                names[i] = components[i].getName();
+                kinds[i] = kindOf(components[i].getType());
             }
-        }
 
-        // Create response record
-        try {
-            return constructor.newInstance(accumulator);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to create response record", e);
+            try {
+                Class<?>[] paramTypes =
+                        Arrays.stream(components).map(RecordComponent::getType).toArray(Class<?>[]::new);
+                return new ResponsePlan(names, kinds, responseClass.getDeclaredConstructor(paramTypes));
+            } catch (NoSuchMethodException e) {
+                throw new IllegalArgumentException(
+                        "Cannot find canonical constructor for " + responseClass.getName(), e);
+            }
         }
-    }
 
-    private static Object addValues(Object accumulator, Object value, Class<?> type) {
-        if (type == Integer.class && value instanceof Integer) {
-            return ((Integer) accumulator) + ((Integer) value);
-        } else if (type == Long.class && value instanceof Long) {
-            return ((Long) accumulator) + ((Long) value);
-        } else if (type == Double.class && value instanceof Double) {
-            return ((Double) accumulator) + ((Double) value);
+        Object create(Object[] args) {
+            try {
+                return constructor.newInstance(args);
+            } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+                throw new RuntimeException("Failed to create response record", e);
+            }
         }
-        return accumulator;
     }
 }
@@ -0,0 +1,85 @@
+package edu.sbu.cse416.app.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import org.bson.types.ObjectId;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+
+/**
+ * Opaque continuation tokens for keyset pages. A token holds the sort keys of
+ * the last document of a page, so the next query seeks to it through the index.
+ */
+public class ScrollCursor {
+
+    private static final char FIELD_SEPARATOR = '\u0000';
+    private static final char VALUE_SEPARATOR = '\u0001';
+
+    private ScrollCursor() {}
+
+    /**
+     * Token for the page after {@code window}, or null if it is the last page.
+     */
+    public static String next(Window<?> window) {
+        if (!window.hasNext() || window.isEmpty()) {
+            return null;
+        }
+        if (!(window.positionAt(window.size() - 1) instanceof KeysetScrollPosition position)) {
+            throw new IllegalArgumentException("Not a keyset window");
+        }
+        StringBuilder text = new StringBuilder();
+        for (Map.Entry<String, Object> key : position.getKeys().entrySet()) {
+            if (!text.isEmpty()) {
+                text.append(FIELD_SEPARATOR);
+            }
+            text.append(key.getKey())
+                    .append(VALUE_SEPARATOR)
+                    .append(key.getValue() == null ? "" : key.getValue());
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(text.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Position to continue from in a window ordered by {@code sort}. A blank
+     * token starts at the first page. The token must hold exactly the sort's
+     * properties plus {@code _id}, which keyset windows always break ties on,
+     * so a client cannot drop keys or add fields to the query.
+     *
+     * @throws IllegalArgumentException if the token was not made by {@link #next}
+     *     for the same sort
+     */
+    public static KeysetScrollPosition position(String token, Sort sort) {
+        if (token == null || token.isBlank()) {
+            return ScrollPosition.keyset();
+        }
+        String text = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (String field : text.split(String.valueOf(FIELD_SEPARATOR), -1)) {
+            int split = field.indexOf(VALUE_SEPARATOR);
+            if (split <= 0) {
+                throw new IllegalArgumentException("Malformed cursor");
+            }
+            String name = field.substring(0, split);
+            String value = field.substring(split + 1);
+            // Ids are compared as ObjectIds, so a string would sort after every one of them
+            keys.put(name, "_id".equals(name) && ObjectId.isValid(value) ? new ObjectId(value) : value);
+        }
+        if (!keys.keySet().equals(keyNames(sort))) {
+            throw new IllegalArgumentException("Cursor does not match the sort order");
+        }
+        return ScrollPosition.forward(keys);
+    }
+
+    private static Set<String> keyNames(Sort sort) {
+        Set<String> names = new LinkedHashSet<>();
+        sort.forEach(order -> names.add(order.getProperty()));
+        names.add("_id");
+        return names;
+    }
+}
@@ -0,0 +1,133 @@
+package edu.sbu.cse416.app.util;
+
+import edu.sbu.cse416.app.model.geojson.PackedCoordinates;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds quantized, delta-encoded TopoJSON from GeoJSON geometries.
+ *
+ * <p>Shared borders become a single arc through {@link Topology}, arcs are
+ * snapped to a {@code quantization x quantization} integer grid over the layer's
+ * bounding box, and each arc position after the first is written as a delta from
+ * the previous one.
+ */
+public class TopoJsonEncoder {
+
+    public static final int DEFAULT_QUANTIZATION = 100_000;
+
+    private TopoJsonEncoder() {}
+
+    /**
+     * Encode one layer of features as a TopoJSON topology object ready for
+     * serialization.
+     *
+     * @param objectName name of the geometry collection under {@code objects}
+     * @param ids feature ids, or nulls
+     * @param types GeoJSON geometry type of each feature
+     * @param coordinates GeoJSON coordinates of each feature
+     * @param properties feature properties, serialized as they are
+     * @param tolerance Douglas-Peucker tolerance applied to the arcs; 0 keeps full detail
+     * @param quantization grid size per axis
+     */
+    public static Map<String, Object> encode(
+            String objectName,
+            List<String> ids,
+            List<String> types,
+            List<PackedCoordinates> coordinates,
+            List<?> properties,
+            double tolerance,
+            int quantization) {
+        List<List<List<double[]>>> features = new ArrayList<>(types.size());
+        for (int i = 0; i < types.size(); i++) {
+            features.add(GeometryUtil.toPolygons(coordinates.get(i)));
+        }
+        Topology topology = Topology.build(features).simplify(tolerance);
+
+        double[] bbox = bbox(topology.arcs());
+        double scaleX = scale(bbox[0], bbox[2], quantization);
+        double scaleY = scale(bbox[1], bbox[3], quantization);
+
+        List<List<long[]>> arcs = new ArrayList<>(topology.arcs().size());
+        for (double[] arc : topology.arcs()) {
+            arcs.add(quantizeArc(arc, bbox[0], bbox[1], scaleX, scaleY));
+        }
+
+        List<Map<String, Object>> geometries = new ArrayList<>(types.size());
+        List<List<List<int[]>>> references = topology.references();
+        for (int i = 0; i < types.size(); i++) {
+            Map<String, Object> geometry = new LinkedHashMap<>();
+            String type = types.get(i);
+            if (GeometryUtil.POLYGON.equals(type)) {
+                geometry.put("type", type);
+                geometry.put("arcs", references.get(i).isEmpty() ? List.of() : references.get(i).get(0));
+            } else if (GeometryUtil.MULTI_POLYGON.equals(type)) {
+                geometry.put("type", type);
+                geometry.put("arcs", references.get(i));
+            } else {
+                // TopoJSON's null geometry
+                geometry.put("type", null);
+            }
+            if (ids.get(i) != null) {
+                geometry.put("id", ids.get(i));
+            }
+            geometry.put("properties", properties.get(i));
+            geometries.add(geometry);
+        }
+
+        Map<String, Object> object = new LinkedHashMap<>();
+        object.put("type", "GeometryCollection");
+        object.put("geometries", geometries);
+
+        Map<String, Object> transform = new LinkedHashMap<>();
+        transform.put("scale", new double[] {scaleX, scaleY});
+        transform.put("translate", new double[] {bbox[0], bbox[1]});
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("type", "Topology");
+        result.put("bbox", bbox);
+        result.put("transform", transform);
+        result.put("objects", Map.of(objectName, object));
+        result.put("arcs", arcs);
+        return result;
+    }
+
+    private static double[] bbox(List<double[]> arcs) {
+        double[] bbox = {Double.MAX_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, -Double.MAX_VALUE};
+        for (double[] arc : arcs) {
+            for (int i = 0; i + 1 < arc.length; i += 2) {
+                bbox[0] = Math.min(bbox[0], arc[i]);
+                bbox[1] = Math.min(bbox[1], arc[i + 1]);
+                bbox[2] = Math.max(bbox[2], arc[i]);
+                bbox[3] = Math.max(bbox[3], arc[i + 1]);
+            }
+        }
+        return arcs.isEmpty() ? new double[4] : bbox;
+    }
+
+    private static double scale(double min, double max, int quantization) {
+        return max > min ? (max - min) / (quantization - 1) : 1;
+    }
+
+    /**
+     * Snap an arc to the grid and delta-encode it. Points that land on the same
+     * cell as their predecessor are dropped, but every arc keeps both end points.
+     */
+    private static List<long[]> quantizeArc(double[] arc, double x0, double y0, double scaleX, double scaleY) {
+        int n = arc.length / 2;
+        List<long[]> points = new ArrayList<>(n);
+        long prevX = 0;
+        long prevY = 0;
+        for (int i = 0; i < n; i++) {
+            long x = Math.round((arc[i * 2] - x0) / scaleX);
+            long y = Math.round((arc[i * 2 + 1] - y0) / scaleY);
+            if (i > 0 && i < n - 1 && x == prevX && y == prevY) continue;
+            points.add(i == 0 ? new long[] {x, y} : new long[] {x - prevX, y - prevY});
+            prevX = x;
+            prevY = y;
+        }
+        return points;
+    }
+}
@@ -0,0 +1,400 @@
+package edu.sbu.cse416.app.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Shared-boundary topology over a set of polygonal features.
+ *
+ * <p>Rings are cut into arcs at junctions, the points where neighboring rings
+ * stop sharing a boundary, and an arc shared by two features is stored once.
+ * Simplifying arcs instead of rings means a shared border gets the same
+ * vertices on both sides, so neighbors stay watertight at any tolerance.
+ *
+ * <p>Features are lists of polygons, polygons are lists of rings, and rings are
+ * closed interleaved x,y arrays as produced by {@link GeometryUtil}.
+ */
+public class Topology {
+
+    private final List<double[]> arcs;
+    // feature -> polygon -> ring -> arc indices, ~index when the arc runs backwards
+    private final List<List<List<int[]>>> features;
+
+    private Topology(List<double[]> arcs, List<List<List<int[]>>> features) {
+        this.arcs = arcs;
+        this.features = features;
+    }
+
+    /**
+     * Build the topology of a set of features.
+     */
+    public static Topology build(List<List<List<double[]>>> features) {
+        List<List<List<double[]>>> cleaned = new ArrayList<>(features.size());
+        for (List<List<double[]>> polygons : features) {
+            List<List<double[]>> cleanedPolygons = new ArrayList<>(polygons.size());
+            for (List<double[]> rings : polygons) {
+                List<double[]> cleanedRings = new ArrayList<>(rings.size());
+                for (double[] ring : rings) {
+                    double[] closed = closeRing(ring);
+                    if (closed.length >= 8) {
+                        cleanedRings.add(closed);
+                    }
+                }
+                cleanedPolygons.add(cleanedRings);
+            }
+            cleaned.add(cleanedPolygons);
+        }
+
+        Set<Point> junctions = findJunctions(cleaned);
+
+        List<double[]> arcs = new ArrayList<>();
+        Map<ArcKey, Integer> arcIndex = new HashMap<>();
+        List<List<List<int[]>>> references = new ArrayList<>(cleaned.size());
+        for (List<List<double[]>> polygons : cleaned) {
+            List<List<int[]>> polygonRefs = new ArrayList<>(polygons.size());
+            for (List<double[]> rings : polygons) {
+                List<int[]> ringRefs = new ArrayList<>(rings.size());
+                for (double[] ring : rings) {
+                    List<double[]> pieces = cutRing(ring, junctions);
+                    int[] refs = new int[pieces.size()];
+                    for (int i = 0; i < refs.length; i++) {
+                        refs[i] = internArc(pieces.get(i), arcs, arcIndex);
+                    }
+                    ringRefs.add(refs);
+                }
+                polygonRefs.add(ringRefs);
+            }
+            references.add(polygonRefs);
+        }
+        return new Topology(arcs, references);
+    }
+
+    /**
+     * Number of distinct arcs after shared borders were merged.
+     */
+    public int arcCount() {
+        return arcs.size();
+    }
+
+    /**
+     * Arcs as interleaved x,y arrays. Shared borders appear once.
+     */
+    public List<double[]> arcs() {
+        return arcs;
+    }
+
+    /**
+     * Arc references per feature, polygon and ring. A negative value {@code ~i}
+     * means arc {@code i} traversed backwards, as in TopoJSON.
+     */
+    public List<List<List<int[]>>> references() {
+        return features;
+    }
+
+    /**
+     * Simplify every arc with Douglas-Peucker. Arc end points are always kept, so
+     * junctions never move. When a ring would collapse below a triangle, its arcs
+     * keep full detail everywhere they are used, so neighbors still line up.
+     *
+     * @param tolerance maximum distance, in coordinate units, a removed point may
+     *     lie from the simplified line; 0 or less returns this topology
+     */
+    public Topology simplify(double tolerance) {
+        if (tolerance <= 0) {
+            return this;
+        }
+
+        List<double[]> simplified = new ArrayList<>(arcs.size());
+        for (double[] arc : arcs) {
+            simplified.add(simplifyArc(arc, tolerance));
+        }
+        for (List<List<int[]>> polygons : features) {
+            for (List<int[]> rings : polygons) {
+                for (int[] refs : rings) {
+                    if (assembleRing(refs, simplified).length >= 8) continue;
+                    for (int ref : refs) {
+                        int arc = ref >= 0 ? ref : ~ref;
+                        simplified.set(arc, arcs.get(arc));
+                    }
+                }
+            }
+        }
+        return new Topology(simplified, features);
+    }
+
+    /**
+     * Reassemble every feature as polygons of closed rings.
+     */
+    public List<List<List<double[]>>> toFeatures() {
+        List<List<List<double[]>>> result = new ArrayList<>(features.size());
+        for (List<List<int[]>> polygons : features) {
+            List<List<double[]>> polygonRings = new ArrayList<>(polygons.size());
+            for (List<int[]> rings : polygons) {
+                List<double[]> ringCoordinates = new ArrayList<>(rings.size());
+                for (int[] refs : rings) {
+                    ringCoordinates.add(assembleRing(refs, arcs));
+                }
+                polygonRings.add(ringCoordinates);
+            }
+            result.add(polygonRings);
+        }
+        return result;
+    }
+
+    /**
+     * Drop consecutive duplicate points and make sure the ring ends where it starts.
+     */
+    private static double[] closeRing(double[] ring) {
+        double[] out = new double[ring.length + 2];
+        int n = 0;
+        for (int i = 0; i + 1 < ring.length; i += 2) {
+            if (n >= 2 && out[n - 2] == ring[i] && out[n - 1] == ring[i + 1]) continue;
+            out[n++] = ring[i];
+            out[n++] = ring[i + 1];
+        }
+        if (n >= 2 && (out[0] != out[n - 2] || out[1] != out[n - 1])) {
+            out[n++] = out[0];
+            out[n++] = out[1];
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    /**
+     * A point is a junction when it appears more than once with different
+     * neighbors, i.e. where two rings stop sharing a boundary.
+     */
+    private static Set<Point> findJunctions(List<List<List<double[]>>> features) {
+        Map<Point, Point[]> neighbors = new HashMap<>();
+        Set<Point> junctions = new HashSet<>();
+        for (List<List<double[]>> polygons : features) {
+            for (List<double[]> rings : polygons) {
+                for (double[] ring : rings) {
+                    // Closed ring: the last point repeats the first
+                    int m = ring.length / 2 - 1;
+                    for (int i = 0; i < m; i++) {
+                        Point p = point(ring, i);
+                        Point prev = point(ring, (i - 1 + m) % m);
+                        Point next = point(ring, (i + 1) % m);
+                        Point[] seen = neighbors.putIfAbsent(p, new Point[] {prev, next});
+                        if (seen != null
+                                && !(seen[0].equals(prev) && seen[1].equals(next))
+                                && !(seen[0].equals(next) && seen[1].equals(prev))) {
+                            junctions.add(p);
+                        }
+                    }
+                }
+            }
+        }
+        return junctions;
+    }
+
+    /**
+     * Split a closed ring into arcs that start and end at junctions. A ring
+     * without junctions becomes a single closed arc starting at its smallest point,
+     * so the same ring seen from another feature produces the same arc.
+     */
+    private static List<double[]> cutRing(double[] ring, Set<Point> junctions) {
+        int m = ring.length / 2 - 1;
+        int start = -1;
+        for (int i = 0; i < m && start < 0; i++) {
+            if (junctions.contains(point(ring, i))) {
+                start = i;
+            }
+        }
+
+        if (start < 0) {
+            int smallest = 0;
+            for (int i = 1; i < m; i++) {
+                if (compare(ring, i, smallest) < 0) {
+                    smallest = i;
+                }
+            }
+            return List.of(rotate(ring, m, smallest));
+        }
+
+        double[] rotated = rotate(ring, m, start);
+        List<double[]> pieces = new ArrayList<>();
+        int from = 0;
+        for (int i = 1; i <= m; i++) {
+            if (i == m || junctions.contains(point(rotated, i))) {
+                pieces.add(Arrays.copyOfRange(rotated, from * 2, i * 2 + 2));
+                from = i;
+            }
+        }
+        return pieces;
+    }
+
+    private static double[] rotate(double[] ring, int m, int start) {
+        double[] rotated = new double[ring.length];
+        for (int i = 0; i <= m; i++) {
+            int j = (start + i) % m;
+            rotated[i * 2] = ring[j * 2];
+            rotated[i * 2 + 1] = ring[j * 2 + 1];
+        }
+        return rotated;
+    }
+
+    private static int internArc(double[] arc, List<double[]> arcs, Map<ArcKey, Integer> arcIndex) {
+        Integer forward = arcIndex.get(new ArcKey(arc));
+        if (forward != null) {
+            return forward;
+        }
+        Integer backward = arcIndex.get(new ArcKey(reverse(arc)));
+        if (backward != null) {
+            return ~backward;
+        }
+        arcIndex.put(new ArcKey(arc), arcs.size());
+        arcs.add(arc);
+        return arcs.size() - 1;
+    }
+
+    private static double[] assembleRing(int[] refs, List<double[]> arcs) {
+        int length = 2;
+        for (int ref : refs) {
+            length += arcs.get(ref >= 0 ? ref : ~ref).length - 2;
+        }
+        double[] ring = new double[length];
+        int n = 0;
+        for (int k = 0; k < refs.length; k++) {
+            double[] arc = refs[k] >= 0 ? arcs.get(refs[k]) : reverse(arcs.get(~refs[k]));
+            // Consecutive arcs share their joining point
+            int from = k == 0 ? 0 : 2;
+            System.arraycopy(arc, from, ring, n, arc.length - from);
+            n += arc.length - from;
+        }
+        return Arrays.copyOf(ring, n);
+    }
+
+    /**
+     * Douglas-Peucker over one arc. Closed arcs are split at the point farthest
+     * from their start so the recursion has a real baseline.
+     */
+    static double[] simplifyArc(double[] arc, double tolerance) {
+        int n = arc.length / 2;
+        if (n <= 2) {
+            return arc;
+        }
+
+        boolean[] keep = new boolean[n];
+        keep[0] = true;
+        keep[n - 1] = true;
+        double toleranceSq = tolerance * tolerance;
+
+        if (arc[0] == arc[arc.length - 2] && arc[1] == arc[arc.length - 1]) {
+            int farthest = 1;
+            double best = -1;
+            for (int i = 1; i < n - 1; i++) {
+                double dx = arc[i * 2] - arc[0];
+                double dy = arc[i * 2 + 1] - arc[1];
+                double d = dx * dx + dy * dy;
+                if (d > best) {
+                    best = d;
+                    farthest = i;
+                }
+            }
+            keep[farthest] = true;
+            markKept(arc, 0, farthest, toleranceSq, keep);
+            markKept(arc, farthest, n - 1, toleranceSq, keep);
+        } else {
+            markKept(arc, 0, n - 1, toleranceSq, keep);
+        }
+
+        int kept = 0;
+        for (boolean k : keep) {
+            if (k) kept++;
+        }
+        if (kept == n) {
+            return arc;
+        }
+        double[] out = new double[kept * 2];
+        int j = 0;
+        for (int i = 0; i < n; i++) {
+            if (keep[i]) {
+                out[j++] = arc[i * 2];
+                out[j++] = arc[i * 2 + 1];
+            }
+        }
+        return out;
+    }
+
+    private static void markKept(double[] arc, int first, int last, double toleranceSq, boolean[] keep) {
+        int[] stack = new int[64];
+        int top = 0;
+        stack[top++] = first;
+        stack[top++] = last;
+        while (top > 0) {
+            int b = stack[--top];
+            int a = stack[--top];
+            int index = -1;
+            double max = toleranceSq;
+            for (int i = a + 1; i < b; i++) {
+                double d = segmentDistanceSq(arc, i, a, b);
+                if (d > max) {
+                    max = d;
+                    index = i;
+                }
+            }
+            if (index < 0) continue;
+
+            keep[index] = true;
+            if (top + 4 > stack.length) {
+                stack = Arrays.copyOf(stack, stack.length * 2);
+            }
+            stack[top++] = a;
+            stack[top++] = index;
+            stack[top++] = index;
+            stack[top++] = b;
+        }
+    }
+
+    private static double segmentDistanceSq(double[] xy, int p, int a, int b) {
+        double px = xy[p * 2], py = xy[p * 2 + 1];
+        double ax = xy[a * 2], ay = xy[a * 2 + 1];
+        double dx = xy[b * 2] - ax, dy = xy[b * 2 + 1] - ay;
+        double lengthSq = dx * dx + dy * dy;
+        if (lengthSq > 0) {
+            double t = Math.max(0, Math.min(1, ((px - ax) * dx + (py - ay) * dy) / lengthSq));
+            ax += t * dx;
+            ay += t * dy;
+        }
+        double ex = px - ax, ey = py - ay;
+        return ex * ex + ey * ey;
+    }
+
+    private static double[] reverse(double[] arc) {
+        double[] reversed = new double[arc.length];
+        for (int i = 0, j = arc.length - 2; j >= 0; i += 2, j -= 2) {
+            reversed[i] = arc[j];
+            reversed[i + 1] = arc[j + 1];
+        }
+        return reversed;
+    }
+
+    private static Point point(double[] xy, int i) {
+        return new Point(xy[i * 2], xy[i * 2 + 1]);
+    }
+
+    private static int compare(double[] xy, int i, int j) {
+        int c = Double.compare(xy[i * 2], xy[j * 2]);
+        return c != 0 ? c : Double.compare(xy[i * 2 + 1], xy[j * 2 + 1]);
+    }
+
+    private record Point(double x, double y) {}
+
+    private record ArcKey(double[] xy) {
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ArcKey other && Arrays.equals(xy, other.xy);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(xy);
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package edu.sbu.cse416.app.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes polygon features into a single Mapbox Vector Tile (MVT 2.1).
+ *
+ * <p>Polygons are given in longitude/latitude as rings from {@link GeometryUtil}.
+ * They are projected to Web Mercator, clipped to the tile plus a buffer, and
+ * quantized to the tile extent. Exterior rings are wound clockwise and holes
+ * counter-clockwise in tile space, as the spec requires.
+ */
+public class VectorTileEncoder {
+
+    private static final double MAX_LATITUDE = 85.0511287798066;
+
+    // Geometry command ids
+    private static final int MOVE_TO = 1;
+    private static final int LINE_TO = 2;
+    private static final int CLOSE_PATH = 7;
+
+    private static final int POLYGON = 3;
+
+    private final int z;
+    private final int x;
+    private final int y;
+    private final int extent;
+    private final int buffer;
+    private final Map<String, Layer> layers = new LinkedHashMap<>();
+
+    /**
+     * @param extent tile coordinate range, usually 4096
+     * @param buffer extra tile units kept around each edge so strokes join across tiles
+     */
+    public VectorTileEncoder(int z, int x, int y, int extent, int buffer) {
+        this.z = z;
+        this.x = x;
+        this.y = y;
+        this.extent = extent;
+        this.buffer = buffer;
+    }
+
+    /**
+     * Longitude/latitude bounds of the tile including its buffer, as
+     * {@code [minLon, minLat, maxLon, maxLat]}.
+     */
+    public double[] bounds() {
+        double n = 1 << z;
+        double pad = (double) buffer / extent;
+        double minLon = (x - pad) / n * 360.0 - 180.0;
+        double maxLon = (x + 1 + pad) / n * 360.0 - 180.0;
+        double maxLat = Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * (y - pad) / n))));
+        double minLat = Math.toDegrees(Math.atan(Math.sinh(Math.PI * (1 - 2 * (y + 1 + pad) / n))));
+        return new double[] {minLon, minLat, maxLon, maxLat};
+    }
+
+    /**
+     * Add a polygonal feature. Features that fall entirely outside the tile are
+     * skipped.
+     *
+     * @param layerName layer to add the feature to
+     * @param id feature id, or null
+     * @param properties feature attributes; null values are left out
+     * @param polygons polygons as lists of rings, exterior ring first
+     * @return whether any part of the feature landed in the tile
+     */
+    public boolean addPolygons(String layerName, Long id, Map<String, ?> properties, List<List<double[]>> polygons) {
+        List<Integer> geometry = new ArrayList<>();
+        int[] cursor = new int[2];
+        for (List<double[]> rings : polygons) {
+            for (int r = 0; r < rings.size(); r++) {
+                int[] ring = toTileRing(rings.get(r));
+                if (ring == null) {
+                    // Without its exterior ring the holes mean nothing
+                    if (r == 0) break;
+                    continue;
+                }
+                boolean clockwise = area(ring) > 0;
+                if ((r == 0) != clockwise) {
+                    reverse(ring);
+                }
+                encodeRing(ring, geometry, cursor);
+            }
+        }
+        if (geometry.isEmpty()) {
+            return false;
+        }
+
+        Layer layer = layers.computeIfAbsent(layerName, Layer::new);
+        List<Integer> tags = new ArrayList<>();
+        properties.forEach((key, value) -> {
+            if (value == null) return;
+            tags.add(layer.keys.computeIfAbsent(key, k -> layer.keys.size()));
+            tags.add(layer.values.computeIfAbsent(value, v -> layer.values.size()));
+        });
+        layer.features.add(new Feature(id, tags, geometry));
+        return true;
+    }
+
+    /**
+     * Encode every layer into tile bytes. A tile without features encodes to an
+     * empty array, which is a valid empty tile.
+     */
+    public byte[] encode() {
+        ProtoWriter tile = new ProtoWriter();
+        for (Layer layer : layers.values()) {
+            tile.writeMessage(3, encodeLayer(layer));
+        }
+        return tile.toByteArray();
+    }
+
+    private byte[] encodeLayer(Layer layer) {
+        ProtoWriter out = new ProtoWriter();
+        out.writeVarintField(15, 2);
+        out.writeString(1, layer.name);
+        for (Feature feature : layer.features) {
+            ProtoWriter f = new ProtoWriter();
+            if (feature.id != null) {
+                f.writeVarintField(1, feature.id);
+            }
+            f.writePacked(2, feature.tags);
+            f.writeVarintField(3, POLYGON);
+            f.writePacked(4, feature.geometry);
+            out.writeMessage(2, f.toByteArray());
+        }
+        for (String key : layer.keys.keySet()) {
+            out.writeString(3, key);
+        }
+        for (Object value : layer.values.keySet()) {
+            out.writeMessage(4, encodeValue(value));
+        }
+        out.writeVarintField(5, extent);
+        return out.toByteArray();
+    }
+
+    private static byte[] encodeValue(Object value) {
+        ProtoWriter out = new ProtoWriter();
+        if (value instanceof Boolean b) {
+            out.writeVarintField(7, b ? 1 : 0);
+        } else if (value instanceof Integer || value instanceof Long) {
+            out.writeVarintField(6, zigZag(((Number) value).longValue()));
+        } else if (value instanceof Number n) {
+            out.writeDouble(3, n.doubleValue());
+        } else {
+            out.writeString(1, value.toString());
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Project, clip and quantize a ring. Returns null when fewer than three
+     * distinct points remain.
+     */
+    private int[] toTileRing(double[] lonLat) {
+        int count = lonLat.length / 2;
+        double[] projected = new double[count * 2];
+        double n = 1 << z;
+        for (int i = 0; i < count; i++) {
+            double lon = lonLat[i * 2];
+            double lat = Math.max(-MAX_LATITUDE, Math.min(MAX_LATITUDE, lonLat[i * 2 + 1]));
+            double sin = Math.sin(Math.toRadians(lat));
+            double mercatorY = 0.5 - Math.log((1 + sin) / (1 - sin)) / (4 * Math.PI);
+            projected[i * 2] = ((lon + 180.0) / 360.0 * n - x) * extent;
+            projected[i * 2 + 1] = (mercatorY * n - y) * extent;
+        }
+
+        double[] clipped = clip(projected, -buffer, extent + buffer);
+        if (clipped.length < 6) {
+            return null;
+        }
+
+        int[] ring = new int[clipped.length];
+        int size = 0;
+        for (int i = 0; i < clipped.length; i += 2) {
+            int px = (int) Math.round(clipped[i]);
+            int py = (int) Math.round(clipped[i + 1]);
+            if (size >= 2 && ring[size - 2] == px && ring[size - 1] == py) continue;
+            ring[size++] = px;
+            ring[size++] = py;
+        }
+        // Rings are written open; ClosePath joins back to the first point
+        while (size >= 4 && ring[0] == ring[size - 2] && ring[1] == ring[size - 1]) {
+            size -= 2;
+        }
+        if (size < 6) {
+            return null;
+        }
+        int[] result = Arrays.copyOf(ring, size);
+        return area(result) == 0 ? null : result;
+    }
+
+    /**
+     * Sutherland-Hodgman clip of a ring against the square [min, max] on both axes.
+     */
+    private static double[] clip(double[] ring, double min, double max) {
+        double[] current = ring;
+        for (int edge = 0; edge < 4; edge++) {
+            int axis = edge % 2;
+            boolean keepBelow = edge >= 2;
+            double bound = keepBelow ? max : min;
+            int count = current.length / 2;
+            if (count == 0) break;
+
+            double[] out = new double[(count + 1) * 4];
+            int size = 0;
+            for (int i = 0; i < count; i++) {
+                int j = (i + 1) % count;
+                double a = current[i * 2 + axis];
+                double b = current[j * 2 + axis];
+                boolean aInside = keepBelow ? a <= bound : a >= bound;
+                boolean bInside = keepBelow ? b <= bound : b >= bound;
+                if (aInside) {
+                    out[size++] = current[i * 2];
+                    out[size++] = current[i * 2 + 1];
+                }
+                if (aInside != bInside) {
+                    double t = (bound - a) / (b - a);
+                    double ix = current[i * 2] + t * (current[j * 2] - current[i * 2]);
+                    double iy = current[i * 2 + 1] + t * (current[j * 2 + 1] - current[i * 2 + 1]);
+                    out[size++] = axis == 0 ? bound : ix;
+                    out[size++] = axis == 1 ? bound : iy;
+                }
+            }
+            current = Arrays.copyOf(out, size);
+        }
+        return current;
+    }
+
+    /**
+     * Append one ring as MoveTo, LineTo and ClosePath commands. The cursor starts
+     * at the origin for each feature and carries over between its rings.
+     */
+    private static void encodeRing(int[] ring, List<Integer> geometry, int[] cursor) {
+        int points = ring.length / 2;
+        geometry.add(command(MOVE_TO, 1));
+        geometry.add((int) zigZag(ring[0] - cursor[0]));
+        geometry.add((int) zigZag(ring[1] - cursor[1]));
+        geometry.add(command(LINE_TO, points - 1));
+        for (int i = 1; i < points; i++) {
+            geometry.add((int) zigZag(ring[i * 2] - ring[i * 2 - 2]));
+            geometry.add((int) zigZag(ring[i * 2 + 1] - ring[i * 2 - 1]));
+        }
+        geometry.add(command(CLOSE_PATH, 1));
+        cursor[0] = ring[ring.length - 2];
+        cursor[1] = ring[ring.length - 1];
+    }
+
+    private static int command(int id, int count) {
+        return (id & 0x7) | (count << 3);
+    }
+
+    private static long zigZag(long n) {
+        return (n << 1) ^ (n >> 63);
+    }
+
+    /**
+     * Twice the signed area in tile space; positive means clockwise on screen.
+     */
+    private static long area(int[] ring) {
+        long sum = 0;
+        int points = ring.length / 2;
+        for (int i = 0; i < points; i++) {
+            int j = (i + 1) % points;
+            sum += (long) ring[i * 2] * ring[j * 2 + 1] - (long) ring[j * 2] * ring[i * 2 + 1];
+        }
+        return sum;
+    }
+
+    private static void reverse(int[] ring) {
+        for (int i = 0, j = ring.length - 2; i < j; i += 2, j -= 2) {
+            int tx = ring[i], ty = ring[i + 1];
+            ring[i] = ring[j];
+            ring[i + 1] = ring[j + 1];
+            ring[j] = tx;
+            ring[j + 1] = ty;
+        }
+    }
+
+    private static final class Layer {
+        private final String name;
+        private final Map<String, Integer> keys = new LinkedHashMap<>();
+        private final Map<Object, Integer> values = new LinkedHashMap<>();
+        private final List<Feature> features = new ArrayList<>();
+
+        private Layer(String name) {
+            this.name = name;
+        }
+    }
+
+    private record Feature(Long id, List<Integer> tags, List<Integer> geometry) {}
+
+    /**
+     * Minimal protobuf wire-format writer for the fields MVT uses.
+     */
+    private static final class ProtoWriter {
+
+        private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        void writeVarintField(int field, long value) {
+            writeVarint(((long) field << 3));
+            writeVarint(value);
+        }
+
+        void writeDouble(int field, double value) {
+            writeVarint(((long) field << 3) | 1);
+            long bits = Double.doubleToLongBits(value);
+            for (int i = 0; i < 8; i++) {
+                out.write((int) (bits >>> (i * 8)) & 0xFF);
+            }
+        }
+
+        void writeString(int field, String value) {
+            writeMessage(field, value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void writeMessage(int field, byte[] bytes) {
+            writeVarint(((long) field << 3) | 2);
+            writeVarint(bytes.length);
+            out.writeBytes(bytes);
+        }
+
+        void writePacked(int field, List<Integer> values) {
+            if (values.isEmpty()) return;
+            ProtoWriter packed = new ProtoWriter();
+            for (int v : values) {
+                packed.writeVarint(Integer.toUnsignedLong(v));
+            }
+            writeMessage(field, packed.toByteArray());
+        }
+
+        void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.write((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.write((int) value);
+        }
+
+        byte[] toByteArray() {
+            return out.toByteArray();
+        }
+    }
+}
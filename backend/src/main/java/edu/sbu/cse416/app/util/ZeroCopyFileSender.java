@@ -0,0 +1,102 @@
+package edu.sbu.cse416.app.util;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * Sends a file, or a single byte range of it, without copying it through the
+ * JVM heap. Tomcat's sendfile is used when the connector supports it; otherwise
+ * the file is streamed with {@link FileChannel#transferTo}.
+ */
+public class ZeroCopyFileSender {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final Pattern SINGLE_RANGE = Pattern.compile("bytes=(\\d*)-(\\d*)");
+
+    private ZeroCopyFileSender() {}
+
+    /**
+     * Write the file, honoring a single {@code Range: bytes=a-b} header. Multiple
+     * ranges are not supported and get the whole file.
+     */
+    public static void send(Path file, String contentType, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        long size = Files.size(file);
+        long start = 0;
+        long end = size - 1;
+
+        String range = request.getHeader(HttpHeaders.RANGE);
+        Matcher matcher = range == null ? null : SINGLE_RANGE.matcher(range.trim());
+        if (matcher != null && matcher.matches() && !(matcher.group(1).isEmpty() && matcher.group(2).isEmpty())) {
+            if (matcher.group(1).isEmpty()) {
+                // Suffix range: the last n bytes
+                start = Math.max(0, size - bytePosition(matcher.group(2)));
+            } else {
+                start = bytePosition(matcher.group(1));
+                if (!matcher.group(2).isEmpty()) {
+                    end = Math.min(end, bytePosition(matcher.group(2)));
+                }
+            }
+            if (start > end) {
+                response.setStatus(HttpServletResponse.SC_REQUESTED_RANGE_NOT_SATISFIABLE);
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                return;
+            }
+            response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
+            response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes " + start + "-" + end + "/" + size);
+        }
+
+        long length = end - start + 1;
+        response.setContentType(contentType);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        response.setContentLengthLong(length);
+        if (length <= 0) {
+            return;
+        }
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, end + 1);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = start;
+            long remaining = length;
+            while (remaining > 0) {
+                long sent = channel.transferTo(position, remaining, out);
+                position += sent;
+                remaining -= sent;
+            }
+        }
+    }
+
+    /**
+     * Parse a byte position of a range. Values too large for a long saturate,
+     * so they read as past the end of any file instead of failing the request.
+     */
+    private static long bytePosition(String digits) {
+        try {
+            return Long.parseLong(digits);
+        } catch (NumberFormatException e) {
+            // The pattern only admits digits, so this is an overflow
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -22,13 +22,46 @@ export interface CountyProps extends BaseMapProps {
 
 export type MapFeatureProps = StateProps | CountyProps;
 
+// Map zoom levels the geometry is simplified for; see GeometryDetail on the backend
+const NATIONAL_ZOOM = 4;
+const STATE_ZOOM = 6;
+
 export const getStatesGeoJson = async (
   signal?: AbortSignal,
 ): Promise<FeatureCollection<Geometry, StateProps>> =>
-  fetchJson("/geojson/states", { signal });
+  fetchJson(`/geojson/states?zoom=${NATIONAL_ZOOM}`, { signal });
+
+export interface CountyMetricsResponse {
+  metricLabels: string[];
+  metrics: Record<string, (number | null)[]>;
+}
 
+// Geometry rarely changes and is revalidated by ETag, so repeat visits only
+// move the metrics payload
 export const getCountiesGeoJson = async (
   fipsPrefix: string,
   signal?: AbortSignal,
-): Promise<FeatureCollection<Geometry, CountyProps>> =>
-  fetchJson(`/geojson/counties/state/${fipsPrefix}`, { signal });
+): Promise<FeatureCollection<Geometry, CountyProps>> => {
+  const [geometry, metrics] = await Promise.all([
+    fetchJson<FeatureCollection<Geometry, CountyProps>>(
+      `/geojson/counties/state/${fipsPrefix}/geometry?zoom=${STATE_ZOOM}`,
+      { signal },
+    ),
+    fetchJson<CountyMetricsResponse>(
+      `/geojson/counties/state/${fipsPrefix}/metrics`,
+      { signal },
+    ),
+  ]);
+
+  return {
+    ...geometry,
+    features: geometry.features.map((feature) => {
+      const values = metrics.metrics[feature.properties.geoid] ?? [];
+      const properties: Record<string, unknown> = { ...feature.properties };
+      metrics.metricLabels.forEach((label, i) => {
+        properties[label] = values[i] ?? undefined;
+      });
+      return { ...feature, properties: properties as unknown as CountyProps };
+    }),
+  };
+};
@@ -336,6 +336,7 @@ export interface FloridaVotersResponse {
   voters: FloridaVoter[];
   totalPages: number;
   totalElements: number;
+  nextCursor: string | null;
 }
 
 export async function getFloridaVoters(